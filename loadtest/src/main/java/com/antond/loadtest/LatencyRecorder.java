@@ -0,0 +1,104 @@
+package com.antond.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Thread-safe latency recording per operation. Two latencies are kept for every request:
+ * <ul>
+ *   <li>response time, measured from the moment the request was <em>intended</em> to be sent by
+ *   the arrival schedule, which corrects for coordinated omission when the generator or the
+ *   server falls behind;</li>
+ *   <li>service time, measured from the moment the request was actually sent, which is what a
+ *   closed-model tool would report.</li>
+ * </ul>
+ * Values are recorded in microseconds.
+ */
+public class LatencyRecorder {
+
+  private final Map<Operation, Recorder> responseTimes = new EnumMap<>(Operation.class);
+  private final Map<Operation, Recorder> serviceTimes = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+  public LatencyRecorder() {
+    for (Operation operation : Operation.values()) {
+      responseTimes.put(operation, new Recorder(3));
+      serviceTimes.put(operation, new Recorder(3));
+      errors.put(operation, new LongAdder());
+    }
+  }
+
+  /**
+   * Records a completed request.
+   *
+   * @param operation        the operation of the request
+   * @param responseTimeNanos nanoseconds from the intended start to completion
+   * @param serviceTimeNanos  nanoseconds from the actual start to completion
+   * @param success           whether the request succeeded
+   */
+  public void record(Operation operation, long responseTimeNanos, long serviceTimeNanos,
+      boolean success) {
+    responseTimes.get(operation).recordValue(Math.max(1, responseTimeNanos / 1_000));
+    serviceTimes.get(operation).recordValue(Math.max(1, serviceTimeNanos / 1_000));
+    if (!success) {
+      errors.get(operation).increment();
+    }
+  }
+
+  /**
+   * Records a request that was never sent because too many requests were outstanding.
+   *
+   * @param operation the operation of the request
+   */
+  public void recordRejected(Operation operation) {
+    errors.get(operation).increment();
+  }
+
+  /**
+   * Discards everything recorded so far, e.g. at the end of the warmup.
+   */
+  public void reset() {
+    responseTimes.values().forEach(Recorder::reset);
+    serviceTimes.values().forEach(Recorder::reset);
+    errors.values().forEach(LongAdder::reset);
+  }
+
+  /**
+   * Takes the response time histograms recorded since the last snapshot or reset.
+   *
+   * @return the response time histogram of every operation
+   */
+  public Map<Operation, Histogram> responseTimeSnapshot() {
+    return snapshot(responseTimes);
+  }
+
+  /**
+   * Takes the service time histograms recorded since the last snapshot or reset.
+   *
+   * @return the service time histogram of every operation
+   */
+  public Map<Operation, Histogram> serviceTimeSnapshot() {
+    return snapshot(serviceTimes);
+  }
+
+  /**
+   * Returns the number of failed or rejected requests per operation.
+   *
+   * @return the error count of every operation
+   */
+  public Map<Operation, Long> errorCounts() {
+    Map<Operation, Long> counts = new EnumMap<>(Operation.class);
+    errors.forEach((operation, count) -> counts.put(operation, count.sum()));
+    return counts;
+  }
+
+  private static Map<Operation, Histogram> snapshot(Map<Operation, Recorder> recorders) {
+    Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    recorders.forEach((operation, recorder) -> histograms.put(operation,
+        recorder.getIntervalHistogram()));
+    return histograms;
+  }
+}
@@ -0,0 +1,112 @@
+package com.antond.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator. Requests are started according to a fixed arrival schedule,
+ * independently of how fast earlier requests complete, so a slow server faces a growing number of
+ * outstanding requests exactly like it would with real users. Latencies are measured from the
+ * scheduled start time, see {@link LatencyRecorder}.
+ */
+public class LoadGenerator {
+
+  private final LoadTestConfig config;
+  private final NotebookClient client;
+  private final LatencyRecorder recorder;
+  private final HttpClient httpClient;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Random random = new Random();
+
+  public LoadGenerator(LoadTestConfig config, NotebookClient client, LatencyRecorder recorder,
+      HttpClient httpClient) {
+    this.config = config;
+    this.client = client;
+    this.recorder = recorder;
+    this.httpClient = httpClient;
+  }
+
+  /**
+   * Creates the configured number of notes one after another, before any load is applied.
+   *
+   * @throws InterruptedException if interrupted while waiting for a response
+   */
+  public void seed() throws InterruptedException {
+    for (int i = 0; i < config.seedNotes(); i++) {
+      try {
+        HttpResponse<String> response = httpClient.send(
+            client.request(Operation.CREATE, random), HttpResponse.BodyHandlers.ofString());
+        client.onSuccess(response);
+      } catch (IOException e) {
+        throw new IllegalStateException("Seeding failed against " + config.baseUrl(), e);
+      }
+    }
+  }
+
+  /**
+   * Applies the load for the warmup and the measured duration, then waits for outstanding
+   * requests to finish.
+   *
+   * @return the start of the measured phase, as a {@link System#nanoTime()} value
+   * @throws InterruptedException if interrupted while waiting for outstanding requests
+   */
+  public long run() throws InterruptedException {
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate());
+    long start = System.nanoTime();
+    long measurementStart = start + config.warmup().toNanos();
+    long end = measurementStart + config.duration().toNanos();
+    boolean warmingUp = config.warmup().toNanos() > 0;
+
+    long intended = start;
+    while (intended < end) {
+      long now;
+      while ((now = System.nanoTime()) < intended) {
+        LockSupport.parkNanos(intended - now);
+      }
+      if (warmingUp && intended >= measurementStart) {
+        recorder.reset();
+        warmingUp = false;
+      }
+      fire(intended, intended >= measurementStart);
+      intended += config.poisson()
+          ? (long) (-Math.log(1 - random.nextDouble()) * intervalNanos)
+          : intervalNanos;
+    }
+
+    long deadline = System.nanoTime() + config.timeout().toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    return measurementStart;
+  }
+
+  private void fire(long intendedStart, boolean measured) {
+    Operation operation = client.feasible(config.mix().next(random));
+    if (inFlight.incrementAndGet() > config.maxInFlight()) {
+      inFlight.decrementAndGet();
+      if (measured) {
+        recorder.recordRejected(operation);
+      }
+      return;
+    }
+
+    long sent = System.nanoTime();
+    httpClient.sendAsync(client.request(operation, random), HttpResponse.BodyHandlers.ofString())
+        .whenComplete((response, failure) -> {
+          long completed = System.nanoTime();
+          inFlight.decrementAndGet();
+          boolean success = failure == null && response.statusCode() < 400;
+          if (success) {
+            client.onSuccess(response);
+          }
+          if (measured) {
+            recorder.record(operation, completed - intendedStart, completed - sent, success);
+          }
+        });
+  }
+}
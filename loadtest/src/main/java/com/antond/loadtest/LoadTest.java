@@ -0,0 +1,69 @@
+package com.antond.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Command line entry point of the load test harness.
+ *
+ * <pre>
+ * loadtest --base-url=http://localhost:8080 --rate=200 --duration=60 --label=baseline
+ * loadtest compare build/loadtest/baseline/summary.json build/loadtest/candidate/summary.json
+ * </pre>
+ */
+public final class LoadTest {
+
+  private LoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0 && args[0].equals("compare")) {
+      if (args.length != 3) {
+        System.err.println("Usage: loadtest compare <baseline summary.json> <candidate summary.json>");
+        System.exit(2);
+      }
+      new ReportComparer().compare(Path.of(args[1]), Path.of(args[2]), System.out);
+      return;
+    }
+
+    if (args.length > 0 && args[0].equals("--help")) {
+      System.out.print(LoadTestConfig.USAGE);
+      return;
+    }
+
+    LoadTestConfig config;
+    try {
+      config = LoadTestConfig.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(LoadTestConfig.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      HttpClient httpClient = HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .executor(executor)
+          .build();
+      NotebookClient client = new NotebookClient(config);
+      LatencyRecorder recorder = new LatencyRecorder();
+      LoadGenerator generator = new LoadGenerator(config, client, recorder, httpClient);
+
+      System.out.printf("Seeding %d notes%n", config.seedNotes());
+      generator.seed();
+      System.out.printf("Running %s at %.1f req/s (%s arrivals): %ds warmup, %ds measured, mix %s%n",
+          config.label(), config.rate(), config.poisson() ? "poisson" : "uniform",
+          config.warmup().toSeconds(), config.duration().toSeconds(), config.mix());
+      generator.run();
+
+      Path directory = new ReportWriter().write(config, recorder.responseTimeSnapshot(),
+          recorder.serviceTimeSnapshot(), recorder.errorCounts(), System.out);
+      System.out.println("Reports written to " + directory);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.antond.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, parsed from {@code --name=value} command line arguments.
+ *
+ * @param baseUrl     base URL of the Notebook instance under test
+ * @param rate        target arrival rate in requests per second
+ * @param warmup      time during which load is applied but not recorded
+ * @param duration    measured time after the warmup
+ * @param poisson     whether arrivals are exponentially distributed instead of evenly spaced
+ * @param mix         the weighted mix of operations
+ * @param seedNotes   number of notes created before the run so reads have something to hit
+ * @param textSize    approximate number of characters of the texts of created notes
+ * @param pageSize    page size used by list and tag requests
+ * @param maxInFlight maximum number of outstanding requests; arrivals beyond it count as errors
+ * @param timeout     per request timeout
+ * @param outputDir   directory the reports are written to
+ * @param label       name of the run, used in reports to tell runs apart
+ */
+public record LoadTestConfig(
+    URI baseUrl,
+    double rate,
+    Duration warmup,
+    Duration duration,
+    boolean poisson,
+    OperationMix mix,
+    int seedNotes,
+    int textSize,
+    int pageSize,
+    int maxInFlight,
+    Duration timeout,
+    Path outputDir,
+    String label) {
+
+  static final String USAGE = """
+      Usage: loadtest [--name=value ...]
+        --base-url=http://localhost:8080   instance under test
+        --rate=100                         arrivals per second (open model)
+        --warmup=10                        seconds of unrecorded load
+        --duration=60                      seconds of recorded load
+        --arrival=poisson|uniform          inter-arrival distribution
+        --mix=create=5,get=40,list=20,tag=10,stats=15,update=10
+        --seed-notes=200                   notes created before the run
+        --text-size=2000                   characters per created note
+        --page-size=10                     page size of list and tag requests
+        --max-in-flight=1000               outstanding requests before arrivals are rejected
+        --timeout=10                       seconds per request
+        --output=build/loadtest            report directory
+        --label=run                        name of the run in the reports
+      """;
+
+  /**
+   * Parses the configuration from command line arguments, applying defaults for missing values.
+   *
+   * @param args arguments in {@code --name=value} form
+   * @return the parsed configuration
+   * @throws IllegalArgumentException if an argument is unknown or malformed
+   */
+  public static LoadTestConfig parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Malformed argument '" + arg + "'");
+      }
+      values.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    LoadTestConfig config = new LoadTestConfig(
+        URI.create(take(values, "base-url", "http://localhost:8080")),
+        Double.parseDouble(take(values, "rate", "100")),
+        Duration.ofSeconds(Long.parseLong(take(values, "warmup", "10"))),
+        Duration.ofSeconds(Long.parseLong(take(values, "duration", "60"))),
+        "poisson".equals(take(values, "arrival", "poisson")),
+        OperationMix.parse(take(values, "mix",
+            "create=5,get=40,list=20,tag=10,stats=15,update=10")),
+        Integer.parseInt(take(values, "seed-notes", "200")),
+        Integer.parseInt(take(values, "text-size", "2000")),
+        Integer.parseInt(take(values, "page-size", "10")),
+        Integer.parseInt(take(values, "max-in-flight", "1000")),
+        Duration.ofSeconds(Long.parseLong(take(values, "timeout", "10"))),
+        Path.of(take(values, "output", "build/loadtest")),
+        take(values, "label", "run"));
+
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown arguments " + values.keySet());
+    }
+    if (config.rate <= 0) {
+      throw new IllegalArgumentException("The rate must be positive");
+    }
+    return config;
+  }
+
+  private static String take(Map<String, String> values, String name, String defaultValue) {
+    String value = values.remove(name);
+    return value != null ? value : defaultValue;
+  }
+}
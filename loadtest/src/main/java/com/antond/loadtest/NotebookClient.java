@@ -0,0 +1,139 @@
+package com.antond.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds the HTTP requests for every {@link Operation} and keeps track of the IDs of the notes
+ * known to exist, so that reads and updates target real notes.
+ */
+public class NotebookClient {
+
+  private static final String[] TAGS = {"BUSINESS", "PERSONAL", "IMPORTANT"};
+  private static final String[] WORDS = {
+      "note", "meeting", "project", "deadline", "review", "the", "a", "of", "and", "to",
+      "budget", "client", "follow", "up", "tomorrow", "call", "draft", "report", "team", "plan"
+  };
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final List<String> noteIds = new ArrayList<>();
+  private final URI baseUrl;
+  private final Duration timeout;
+  private final int textSize;
+  private final int pageSize;
+
+  public NotebookClient(LoadTestConfig config) {
+    this.baseUrl = config.baseUrl();
+    this.timeout = config.timeout();
+    this.textSize = config.textSize();
+    this.pageSize = config.pageSize();
+  }
+
+  /**
+   * Replaces operations that need an existing note by a create while no note is known yet.
+   *
+   * @param operation the operation picked from the mix
+   * @return the operation that can actually be issued
+   */
+  public Operation feasible(Operation operation) {
+    return operation.needsExistingNote() && knownNotes() == 0 ? Operation.CREATE : operation;
+  }
+
+  /**
+   * Builds the request for an operation.
+   *
+   * @param operation the operation to issue, see {@link #feasible(Operation)}
+   * @param random    the source of randomness for IDs, tags and texts
+   * @return the request to send
+   */
+  public HttpRequest request(Operation operation, Random random) {
+    String id = operation.needsExistingNote() ? randomNoteId(random) : null;
+
+    return switch (operation) {
+      case CREATE -> json("/notes").POST(body(Map.of(
+          "title", "Load test note " + random.nextInt(1_000_000),
+          "text", randomText(random),
+          "tags", List.of(TAGS[random.nextInt(TAGS.length)])))).build();
+      case GET -> get("/notes/" + id).build();
+      case LIST -> get("/notes?page=" + random.nextInt(3) + "&size=" + pageSize).build();
+      case TAG -> json("/notes/tag?page=0&size=" + pageSize)
+          .method("GET", body(List.of(TAGS[random.nextInt(TAGS.length)]))).build();
+      case STATS -> get("/notes/" + id + "/stats").build();
+      case UPDATE -> json("/notes/" + id).PUT(body(Map.of(
+          "title", "Updated load test note " + random.nextInt(1_000_000)))).build();
+    };
+  }
+
+  /**
+   * Learns from a completed request: remembers the IDs of created notes.
+   *
+   * @param response the response of a successful request
+   */
+  public void onSuccess(HttpResponse<String> response) {
+    if (response.request().method().equals("POST") && response.statusCode() == 201) {
+      try {
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        if (id != null) {
+          synchronized (noteIds) {
+            noteIds.add(id.asText());
+          }
+        }
+      } catch (JsonProcessingException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of notes known to exist.
+   *
+   * @return the number of known note IDs
+   */
+  public int knownNotes() {
+    synchronized (noteIds) {
+      return noteIds.size();
+    }
+  }
+
+  private String randomNoteId(Random random) {
+    synchronized (noteIds) {
+      return noteIds.isEmpty() ? null : noteIds.get(random.nextInt(noteIds.size()));
+    }
+  }
+
+  private String randomText(Random random) {
+    StringBuilder text = new StringBuilder(textSize + 16);
+    while (text.length() < textSize) {
+      text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ".\n" : " ");
+    }
+    return text.toString();
+  }
+
+  private HttpRequest.Builder get(String path) {
+    return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout).GET();
+  }
+
+  private HttpRequest.Builder json(String path) {
+    return HttpRequest.newBuilder(baseUrl.resolve(path))
+        .timeout(timeout)
+        .header("Content-Type", "application/json");
+  }
+
+  private HttpRequest.BodyPublisher body(Object value) {
+    try {
+      return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
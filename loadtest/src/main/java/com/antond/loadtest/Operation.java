@@ -0,0 +1,44 @@
+package com.antond.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The Notebook API operations the load generator can issue.
+ */
+public enum Operation {
+  CREATE,
+  GET,
+  LIST,
+  TAG,
+  STATS,
+  UPDATE;
+
+  /**
+   * Parses an operation from its case-insensitive name, as used in the mix definition.
+   *
+   * @param name the operation name, e.g. {@code get}
+   * @return the matching operation
+   * @throws IllegalArgumentException if no operation has the given name
+   */
+  public static Operation parse(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * Tells whether the operation targets an existing note.
+   *
+   * @return true if a note ID is needed to issue the operation
+   */
+  public boolean needsExistingNote() {
+    return this == GET || this == STATS || this == UPDATE;
+  }
+
+  /**
+   * Returns the lowercase name used in reports.
+   *
+   * @return the report name of this operation
+   */
+  public String reportName() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,98 @@
+package com.antond.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted selection of operations, e.g. {@code create=5,get=40,list=20}. Weights are relative and
+ * do not have to add up to 100.
+ */
+public final class OperationMix {
+
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+  private final int totalWeight;
+  private final Map<Operation, Integer> weights;
+
+  private OperationMix(Map<Operation, Integer> weights) {
+    this.weights = weights;
+    this.operations = new Operation[weights.size()];
+    this.cumulativeWeights = new int[weights.size()];
+
+    int total = 0;
+    int i = 0;
+    for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+      total += entry.getValue();
+      operations[i] = entry.getKey();
+      cumulativeWeights[i] = total;
+      i++;
+    }
+    this.totalWeight = total;
+  }
+
+  /**
+   * Parses a mix definition of comma separated {@code operation=weight} pairs.
+   *
+   * @param definition the mix definition
+   * @return the parsed mix
+   * @throws IllegalArgumentException if the definition is malformed or has no positive weight
+   */
+  public static OperationMix parse(String definition) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String part : definition.split(",")) {
+      String[] pair = part.split("=");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("Invalid mix entry '" + part + "'");
+      }
+      int weight = Integer.parseInt(pair[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Negative weight in mix entry '" + part + "'");
+      }
+      if (weight > 0) {
+        weights.put(Operation.parse(pair[0]), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+    }
+    return new OperationMix(weights);
+  }
+
+  /**
+   * Picks the next operation according to the weights.
+   *
+   * @param random the source of randomness
+   * @return the selected operation
+   */
+  public Operation next(Random random) {
+    int value = random.nextInt(totalWeight);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    return operations[operations.length - 1];
+  }
+
+  /**
+   * Returns the configured weights.
+   *
+   * @return the weight of every operation in the mix
+   */
+  public Map<Operation, Integer> weights() {
+    return weights;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    weights.forEach((operation, weight) -> {
+      if (!builder.isEmpty()) {
+        builder.append(',');
+      }
+      builder.append(operation.reportName()).append('=').append(weight);
+    });
+    return builder.toString();
+  }
+}
@@ -0,0 +1,58 @@
+package com.antond.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Compares the {@code summary.json} reports of two runs and prints the change of the response time
+ * percentiles per operation, e.g. to check a change for latency regressions.
+ */
+public class ReportComparer {
+
+  private static final String[] PERCENTILES = {"p50", "p90", "p99", "p99.9", "max"};
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Prints the comparison of a baseline and a candidate report.
+   *
+   * @param baseline  the summary.json of the baseline run
+   * @param candidate the summary.json of the run to compare with the baseline
+   * @param out       where to print the comparison
+   * @throws IOException if a report cannot be read
+   */
+  public void compare(Path baseline, Path candidate, PrintStream out) throws IOException {
+    JsonNode base = objectMapper.readTree(baseline.toFile());
+    JsonNode other = objectMapper.readTree(candidate.toFile());
+    out.printf("baseline: %s (%s), candidate: %s (%s)%n",
+        base.path("label").asText(), base.path("mix").asText(),
+        other.path("label").asText(), other.path("mix").asText());
+
+    Iterator<String> names = base.path("operations").fieldNames();
+    while (names.hasNext()) {
+      String name = names.next();
+      JsonNode before = base.path("operations").path(name);
+      JsonNode after = other.path("operations").path(name);
+      if (after.isMissingNode()) {
+        out.printf("%-8s missing in candidate%n", name);
+        continue;
+      }
+
+      StringBuilder row = new StringBuilder(String.format("%-8s", name));
+      for (String percentile : PERCENTILES) {
+        double from = before.path("responseTimeMs").path(percentile).asDouble();
+        double to = after.path("responseTimeMs").path(percentile).asDouble();
+        double change = from == 0 ? 0 : (to - from) / from * 100;
+        row.append(String.format("  %s %8.2f -> %8.2f ms (%+6.1f%%)", percentile, from, to,
+            change));
+      }
+      row.append(String.format("  errors %d -> %d", before.path("errors").asLong(),
+          after.path("errors").asLong()));
+      out.println(row);
+    }
+  }
+}
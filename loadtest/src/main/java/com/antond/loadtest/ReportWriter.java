@@ -0,0 +1,125 @@
+package com.antond.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Writes the results of a run into the output directory:
+ * <ul>
+ *   <li>{@code <label>/summary.json} with counts, error rates and percentiles per operation, in a
+ *   stable format that {@link ReportComparer} can diff against other runs;</li>
+ *   <li>{@code <label>/<operation>.response.hgrm} and {@code .service.hgrm} percentile
+ *   distributions in milliseconds, which can be plotted with the HdrHistogram plotter.</li>
+ * </ul>
+ */
+public class ReportWriter {
+
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .enable(SerializationFeature.INDENT_OUTPUT);
+
+  /**
+   * Writes the reports of a finished run and prints a summary table.
+   *
+   * @param config        the configuration of the run
+   * @param responseTimes the coordinated-omission corrected histograms per operation
+   * @param serviceTimes  the uncorrected histograms per operation
+   * @param errors        the number of failed or rejected requests per operation
+   * @param out           where to print the summary table
+   * @return the directory the reports were written to
+   * @throws IOException if writing a report fails
+   */
+  public Path write(LoadTestConfig config, Map<Operation, Histogram> responseTimes,
+      Map<Operation, Histogram> serviceTimes, Map<Operation, Long> errors, PrintStream out)
+      throws IOException {
+    Path directory = config.outputDir().resolve(config.label());
+    Files.createDirectories(directory);
+
+    Histogram totalResponse = new Histogram(3);
+    Histogram totalService = new Histogram(3);
+    long totalErrors = 0;
+    Map<String, Object> operations = new LinkedHashMap<>();
+
+    out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s%n",
+        "op", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    for (Operation operation : Operation.values()) {
+      Histogram response = responseTimes.get(operation);
+      Histogram service = serviceTimes.get(operation);
+      long errorCount = errors.getOrDefault(operation, 0L);
+      if (response.getTotalCount() == 0 && errorCount == 0) {
+        continue;
+      }
+      totalResponse.add(response);
+      totalService.add(service);
+      totalErrors += errorCount;
+
+      operations.put(operation.reportName(), summary(config, response, service, errorCount));
+      writeDistribution(directory.resolve(operation.reportName() + ".response.hgrm"), response);
+      writeDistribution(directory.resolve(operation.reportName() + ".service.hgrm"), service);
+      printRow(out, operation.reportName(), response, errorCount);
+    }
+    operations.put("all", summary(config, totalResponse, totalService, totalErrors));
+    writeDistribution(directory.resolve("all.response.hgrm"), totalResponse);
+    writeDistribution(directory.resolve("all.service.hgrm"), totalService);
+    printRow(out, "all", totalResponse, totalErrors);
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("label", config.label());
+    report.put("finishedAt", Instant.now().toString());
+    report.put("baseUrl", config.baseUrl().toString());
+    report.put("targetRate", config.rate());
+    report.put("arrival", config.poisson() ? "poisson" : "uniform");
+    report.put("durationSeconds", config.duration().toSeconds());
+    report.put("mix", config.mix().toString());
+    report.put("operations", operations);
+    objectMapper.writeValue(directory.resolve("summary.json").toFile(), report);
+    return directory;
+  }
+
+  private Map<String, Object> summary(LoadTestConfig config, Histogram response,
+      Histogram service, long errors) {
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("count", response.getTotalCount());
+    summary.put("errors", errors);
+    summary.put("throughput", response.getTotalCount() / (double) config.duration().toSeconds());
+    summary.put("responseTimeMs", percentiles(response));
+    summary.put("serviceTimeMs", percentiles(service));
+    return summary;
+  }
+
+  private Map<String, Double> percentiles(Histogram histogram) {
+    Map<String, Double> percentiles = new LinkedHashMap<>();
+    percentiles.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+    percentiles.put("p50", millis(histogram, 50));
+    percentiles.put("p90", millis(histogram, 90));
+    percentiles.put("p99", millis(histogram, 99));
+    percentiles.put("p99.9", millis(histogram, 99.9));
+    percentiles.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+    return percentiles;
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+  }
+
+  private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+    try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+      histogram.outputPercentileDistribution(stream, MICROS_PER_MILLI);
+    }
+  }
+
+  private static void printRow(PrintStream out, String name, Histogram histogram, long errors) {
+    out.printf("%-8s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+        errors, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+        millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI);
+  }
+}
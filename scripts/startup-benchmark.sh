@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Measures the time from container start to the first successful GET /notes.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [dockerfile...]
+#   runs        number of cold starts per image (default 5)
+#   dockerfile  images to compare (default: Dockerfile Dockerfile.fast-start)
+#
+# MongoDB is started once from docker-compose.yaml and shared by all runs. Results are printed as
+# min/median/max milliseconds per image, and every sample is appended to build/startup-benchmark.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+shift || true
+DOCKERFILES=("$@")
+if [ ${#DOCKERFILES[@]} -eq 0 ]; then
+  DOCKERFILES=(Dockerfile Dockerfile.fast-start)
+fi
+
+PORT=18080
+RESULTS=build/startup-benchmark.csv
+mkdir -p build
+[ -f "$RESULTS" ] || echo "timestamp,dockerfile,run,millis" > "$RESULTS"
+
+docker compose up -d --wait mongodb
+NETWORK="$(docker inspect notebook-mongodb --format '{{range $k, $v := .NetworkSettings.Networks}}{{$k}}{{end}}')"
+
+now_millis() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+for dockerfile in "${DOCKERFILES[@]}"; do
+  image="notebook-startup-$(echo "$dockerfile" | tr '[:upper:]' '[:lower:]' | tr '.' '-')"
+  docker build -q -f "$dockerfile" -t "$image" . > /dev/null
+
+  samples=()
+  for run in $(seq 1 "$RUNS"); do
+    start="$(now_millis)"
+    container="$(docker run -d --rm --network "$NETWORK" -p "$PORT:8080" \
+      -e DB_HOST=mongodb -e DB_PORT=27017 -e DB_NAME=notes \
+      -e DB_USERNAME=admin -e DB_PASSWORD=password -e DB_AUTH_SOURCE=admin \
+      "$image")"
+
+    until curl -sf -o /dev/null "http://localhost:$PORT/notes"; do
+      if [ $(( $(now_millis) - start )) -gt 120000 ]; then
+        echo "$dockerfile: no successful GET /notes within 120s" >&2
+        docker logs "$container" >&2
+        docker stop "$container" > /dev/null
+        exit 1
+      fi
+      sleep 0.05
+    done
+
+    elapsed=$(( $(now_millis) - start ))
+    samples+=("$elapsed")
+    echo "$(date -Iseconds),$dockerfile,$run,$elapsed" >> "$RESULTS"
+    docker stop "$container" > /dev/null
+  done
+
+  sorted=($(printf '%s\n' "${samples[@]}" | sort -n))
+  echo "$dockerfile: min=${sorted[0]}ms median=${sorted[$(( ${#sorted[@]} / 2 ))]}ms" \
+    "max=${sorted[-1]}ms (runs=$RUNS)"
+done
@@ -0,0 +1,110 @@
+package com.antond.benchmark;
+
+import com.antond.constants.Tag;
+import com.antond.entity.Note;
+import com.antond.mapper.NoteReadingConverter;
+import com.antond.mapper.NoteWritingConverter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Compares mapping notes between documents and entities through the reflective entity mapping of
+ * Spring Data against the hand-written note converters, both driven by a MappingMongoConverter as
+ * the MongoTemplate does. Reads cover full notes and pages of the list projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteMappingBenchmark {
+
+  @Param({"false", "true"})
+  private boolean handWritten;
+
+  @Param({"10", "1000"})
+  private int pageSize;
+
+  private MappingMongoConverter converter;
+  private Note note;
+  private Document noteDocument;
+  private List<Document> listDocuments;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    MongoCustomConversions conversions = new MongoCustomConversions(handWritten
+        ? List.of(new NoteReadingConverter(), new NoteWritingConverter())
+        : List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+
+    LocalDateTime now = LocalDateTime.now();
+    note = Note.builder()
+        .id(new ObjectId().toHexString())
+        .title("Weekly planning")
+        .text("Discuss the roadmap, review the budget and follow up with the client. ".repeat(20))
+        .tags(List.of(Tag.BUSINESS, Tag.IMPORTANT))
+        .createdDate(now)
+        .build();
+    noteDocument = new Document();
+    converter.write(note, noteDocument);
+    listDocuments = IntStream.range(0, pageSize)
+        .mapToObj(i -> {
+          Document document = new Document();
+          converter.write(Note.builder()
+              .id(new ObjectId().toHexString())
+              .title("Note " + i)
+              .createdDate(now.minusMinutes(i))
+              .build(), document);
+          return document;
+        })
+        .toList();
+  }
+
+  @Benchmark
+  public Document writeNote() {
+    Document document = new Document();
+    converter.write(note, document);
+    return document;
+  }
+
+  @Benchmark
+  public Note readNote() {
+    return converter.read(Note.class, noteDocument);
+  }
+
+  @Benchmark
+  public List<Note> readListProjection() {
+    List<Note> notes = new ArrayList<>(listDocuments.size());
+    for (Document document : listDocuments) {
+      notes.add(converter.read(Note.class, document));
+    }
+    return notes;
+  }
+}
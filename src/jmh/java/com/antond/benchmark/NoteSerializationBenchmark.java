@@ -0,0 +1,126 @@
+package com.antond.benchmark;
+
+import com.antond.constants.Tag;
+import com.antond.dto.request.CreateNoteRequest;
+import com.antond.dto.response.NoteResponse;
+import com.antond.entity.Note;
+import com.antond.mapper.NoteDocumentJsonWriter;
+import com.antond.mapper.NoteToNoteResponseMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares JSON serialization of the API payloads with reflective bean access against the
+ * Blackbird generated accessors, and the regular list response path (entities mapped to a
+ * NoteResponse list, then serialized) against writing raw documents straight to a JsonGenerator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteSerializationBenchmark {
+
+  @Param({"false", "true"})
+  private boolean blackbird;
+
+  @Param({"10", "1000"})
+  private int pageSize;
+
+  private final NoteToNoteResponseMapper mapper = new NoteToNoteResponseMapper();
+  private final NoteDocumentJsonWriter documentWriter = new NoteDocumentJsonWriter();
+  private ObjectMapper objectMapper;
+  private Note note;
+  private List<Note> notes;
+  private List<Document> documents;
+  private byte[] createRequestJson;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    if (blackbird) {
+      objectMapper.registerModule(new BlackbirdModule());
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    note = Note.builder()
+        .id(new ObjectId().toHexString())
+        .title("Weekly planning")
+        .text("Discuss the roadmap, review the budget and follow up with the client. ".repeat(20))
+        .tags(List.of(Tag.BUSINESS, Tag.IMPORTANT))
+        .createdDate(now)
+        .build();
+    notes = IntStream.range(0, pageSize)
+        .mapToObj(i -> Note.builder()
+            .id(new ObjectId().toHexString())
+            .title("Note " + i)
+            .createdDate(now.minusMinutes(i))
+            .build())
+        .toList();
+    documents = notes.stream()
+        .map(n -> new Document("_id", new ObjectId(n.getId()))
+            .append("title", n.getTitle())
+            .append("createdDate",
+                Date.from(n.getCreatedDate().atZone(ZoneId.systemDefault()).toInstant())))
+        .toList();
+    createRequestJson = objectMapper.writeValueAsBytes(CreateNoteRequest.builder()
+        .title(note.getTitle())
+        .text(note.getText())
+        .tags(note.getTags())
+        .build());
+  }
+
+  @Benchmark
+  public byte[] serializeNote() throws IOException {
+    return objectMapper.writeValueAsBytes(note);
+  }
+
+  @Benchmark
+  public byte[] serializeNoteResponseList() throws IOException {
+    List<NoteResponse> responses = mapper.apply(notes);
+    return objectMapper.writeValueAsBytes(responses);
+  }
+
+  @Benchmark
+  public byte[] streamNoteDocuments() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+      generator.writeStartArray();
+      for (Document document : documents) {
+        documentWriter.write(generator, document);
+      }
+      generator.writeEndArray();
+    }
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public CreateNoteRequest deserializeCreateRequest() throws IOException {
+    return objectMapper.readValue(createRequestJson, CreateNoteRequest.class);
+  }
+}
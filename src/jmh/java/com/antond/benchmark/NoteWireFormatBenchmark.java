@@ -0,0 +1,126 @@
+package com.antond.benchmark;
+
+import com.antond.constants.Tag;
+import com.antond.dto.response.NoteResponse;
+import com.antond.entity.Note;
+import com.antond.mapper.NoteToNoteResponseMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the wire formats offered by the API, JSON, CBOR and Smile, for a full note and for pages
+ * of NoteResponse lists. Serialization is measured with and without the gzip compression applied
+ * to large responses, and the payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteWireFormatBenchmark {
+
+  private static final TypeReference<List<NoteResponse>> RESPONSE_LIST = new TypeReference<>() {
+  };
+
+  @Param({"json", "cbor", "smile"})
+  private String format;
+
+  @Param({"10", "1000"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private Note note;
+  private List<NoteResponse> responses;
+  private byte[] responsesPayload;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    JsonFactory factory = switch (format) {
+      case "cbor" -> new CBORFactory();
+      case "smile" -> new SmileFactory();
+      default -> new JsonFactory();
+    };
+    objectMapper = new ObjectMapper(factory)
+        .registerModule(new JavaTimeModule())
+        .registerModule(new BlackbirdModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    LocalDateTime now = LocalDateTime.now();
+    note = Note.builder()
+        .id(new ObjectId().toHexString())
+        .title("Weekly planning")
+        .text("Discuss the roadmap, review the budget and follow up with the client. ".repeat(20))
+        .tags(List.of(Tag.BUSINESS, Tag.IMPORTANT))
+        .createdDate(now)
+        .build();
+    responses = new NoteToNoteResponseMapper().apply(IntStream.range(0, pageSize)
+        .mapToObj(i -> Note.builder()
+            .id(new ObjectId().toHexString())
+            .title("Note " + i)
+            .createdDate(now.minusMinutes(i))
+            .tags(List.of(Tag.PERSONAL))
+            .build())
+        .toList());
+    responsesPayload = objectMapper.writeValueAsBytes(responses);
+
+    byte[] notePayload = objectMapper.writeValueAsBytes(note);
+    System.out.printf("%n%s payload bytes: note %d (gzip %d), %d responses %d (gzip %d)%n",
+        format, notePayload.length, gzip(notePayload).length, pageSize, responsesPayload.length,
+        gzip(responsesPayload).length);
+  }
+
+  @Benchmark
+  public byte[] serializeNote() throws IOException {
+    return objectMapper.writeValueAsBytes(note);
+  }
+
+  @Benchmark
+  public byte[] serializeNoteResponseList() throws IOException {
+    return objectMapper.writeValueAsBytes(responses);
+  }
+
+  @Benchmark
+  public byte[] serializeNoteResponseListGzip() throws IOException {
+    return gzip(objectMapper.writeValueAsBytes(responses));
+  }
+
+  @Benchmark
+  public List<NoteResponse> deserializeNoteResponseList() throws IOException {
+    return objectMapper.readValue(responsesPayload, RESPONSE_LIST);
+  }
+
+  private static byte[] gzip(byte[] payload) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(payload);
+    }
+    return out.toByteArray();
+  }
+}
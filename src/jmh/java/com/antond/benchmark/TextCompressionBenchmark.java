@@ -0,0 +1,78 @@
+package com.antond.benchmark;
+
+import com.antond.utils.TextCompressor;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of storing note texts compressed: compression on the write path, inflation on
+ * the read path and, as a baseline, the UTF-8 encoding every plain text pays anyway. The achieved
+ * compression ratio is printed once per parameter combination so that the storage saving can be
+ * weighed against the added latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextCompressionBenchmark {
+
+  private static final String[] VOCABULARY = {
+      "note", "meeting", "project", "deadline", "review", "the", "a", "of", "and", "to",
+      "budget", "client", "follow", "up", "tomorrow", "call", "draft", "report", "team", "plan"
+  };
+
+  @Param({"16384", "262144", "1048576"})
+  private int textSize;
+
+  @Param({"1", "6"})
+  private int level;
+
+  private final TextCompressor textCompressor = new TextCompressor();
+  private String text;
+  private byte[] compressed;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder(textSize + 16);
+    while (builder.length() < textSize) {
+      builder.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+      builder.append(random.nextInt(12) == 0 ? ".\n" : " ");
+    }
+    text = builder.substring(0, textSize);
+    compressed = textCompressor.compress(text, 0, level);
+
+    System.out.printf("%nsize=%d level=%d compressed=%d ratio=%.2f%n", textSize, level,
+        compressed.length, (double) textSize / compressed.length);
+  }
+
+  @Benchmark
+  public byte[] encodePlain() {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] compress() {
+    return textCompressor.compress(text, 0, level);
+  }
+
+  @Benchmark
+  public String decompress() {
+    return textCompressor.decompress(compressed, TextCompressor.DEFLATE_CODEC);
+  }
+}
@@ -0,0 +1,54 @@
+package com.antond.archive;
+
+import com.antond.config.NotebookProperties;
+import com.antond.event.NoteChangedEvent;
+import com.antond.repository.NoteRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job that moves notes older than {@code notebook.archive.max-age} from the hot
+ * {@code notes} collection into the archive collection. Old notes are rarely read, so keeping them
+ * out of the hot collection keeps its indexes small. Archived notes stay readable by ID and can be
+ * included in listings on request. Every run moves notes in bounded batches until none are left,
+ * and publishes a {@link NoteChangedEvent} for each of them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteArchiver {
+
+  private final NoteRepository noteRepository;
+  private final NotebookProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Archives every note older than the configured maximum age, if archiving is enabled.
+   */
+  @Scheduled(initialDelayString = "${notebook.archive.interval:PT1H}",
+      fixedDelayString = "${notebook.archive.interval:PT1H}")
+  public void archiveOldNotes() {
+    NotebookProperties.Archive archive = properties.getArchive();
+    if (!archive.isEnabled()) {
+      return;
+    }
+
+    LocalDateTime cutoff = LocalDateTime.now().minus(archive.getMaxAge());
+    long archived = 0;
+    List<String> batch;
+    do {
+      batch = noteRepository.archiveNotesCreatedBefore(cutoff, archive.getBatchSize());
+      batch.forEach(id -> eventPublisher.publishEvent(NoteChangedEvent.archived(id)));
+      archived += batch.size();
+    } while (!batch.isEmpty());
+
+    if (archived > 0) {
+      log.info("Archived {} notes created before {}", archived, cutoff);
+    }
+  }
+}
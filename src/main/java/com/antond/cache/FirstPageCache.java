@@ -0,0 +1,221 @@
+package com.antond.cache;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.Tag;
+import com.antond.entity.Note;
+import com.antond.event.NoteChangedEvent;
+import com.antond.event.NoteChangesLostEvent;
+import com.antond.repository.NoteFilter;
+import com.antond.repository.NoteProjection;
+import com.antond.repository.NoteRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the newest notes of every requested tag combination in memory, so that first pages of the
+ * list endpoints are served without querying the database. Each combination is loaded on its
+ * first request and afterwards maintained incrementally from {@link NoteChangedEvent}s: created
+ * and updated notes are inserted at their position, deleted ones are removed. With the change
+ * stream enabled, these events include the writes of other instances.
+ *
+ * <p>Without the change stream, the writes of other instances are not observed, so cached pages
+ * expire after the configured maximum age and are reloaded; with it, pages are kept until evicted.
+ *
+ * <p>A cached page holds up to the configured capacity of notes. Removals can leave it with fewer
+ * notes than a request asks for while more matching notes exist in the database; such requests
+ * reload the page instead of being served incomplete.
+ */
+@Component
+@RequiredArgsConstructor
+public class FirstPageCache {
+
+  private static final Comparator<CachedNote> NEWEST_FIRST =
+      Comparator.comparing(CachedNote::createdDate, Comparator.reverseOrder())
+          .thenComparing(CachedNote::id, Comparator.reverseOrder());
+
+  private static final NoteProjection CACHED_FIELDS =
+      NoteProjection.forList(NoteProjection.LIST_FIELDS);
+
+  private final NoteRepository noteRepository;
+  private final NotebookProperties properties;
+  private final Map<Set<Tag>, CachedPage> pages = new ConcurrentHashMap<>();
+
+  /**
+   * Incremented on every change, so that a page loaded concurrently with a change is not cached.
+   */
+  private long version;
+
+  /**
+   * Checks whether a list query can be answered from this cache: the cache is enabled, the query
+   * asks for the first page in the default newest-first order, no bigger than the cache capacity,
+   * and filters by nothing but required tags.
+   *
+   * @param filter   the criteria of the query
+   * @param pageable the requested page
+   * @return true if {@link #getFirstPage} can answer the query
+   */
+  public boolean supports(NoteFilter filter, Pageable pageable) {
+    NotebookProperties.ListCache settings = properties.getListCache();
+    return settings.isEnabled()
+        && pageable.getPageNumber() == 0
+        && pageable.getPageSize() <= settings.getCapacity()
+        && isNewestFirst(pageable.getSort())
+        && filter.equals(NoteFilter.builder().allTags(filter.getAllTags()).build());
+  }
+
+  /**
+   * Returns the newest notes carrying all the given tags, loading them from the database only if
+   * the tag combination is not cached yet or the cached page cannot fill the request.
+   *
+   * @param tags       the tags the notes must all carry
+   * @param size       the number of notes to return
+   * @param projection the fields to set on the returned notes; must be a list projection
+   * @return the newest matching notes, newest first
+   */
+  public List<Note> getFirstPage(Collection<Tag> tags, int size, NoteProjection projection) {
+    Set<Tag> key = tags.isEmpty() ? EnumSet.noneOf(Tag.class) : EnumSet.copyOf(tags);
+    CachedPage page = pages.get(key);
+    if (page == null || !page.canServe(size) || isExpired(page)) {
+      page = load(key);
+    }
+    return page.notes().stream()
+        .limit(size)
+        .map(note -> note.toNote(projection))
+        .toList();
+  }
+
+  /**
+   * Applies a note change to every cached page.
+   *
+   * @param event the change that was written to the database
+   */
+  @EventListener
+  public synchronized void onNoteChanged(NoteChangedEvent event) {
+    version++;
+    int capacity = properties.getListCache().getCapacity();
+    CachedNote changed = event.note() != null ? CachedNote.of(event.note()) : null;
+    pages.replaceAll((key, page) -> page.apply(event.noteId(), changed, key, capacity));
+  }
+
+  /**
+   * Drops every cached page, as changes may have been missed.
+   *
+   * @param event the notification that changes may have been missed
+   */
+  @EventListener
+  public void onNoteChangesLost(NoteChangesLostEvent event) {
+    clear();
+  }
+
+  /**
+   * Drops every cached page.
+   */
+  public synchronized void clear() {
+    version++;
+    pages.clear();
+  }
+
+  private CachedPage load(Set<Tag> key) {
+    long observedVersion;
+    synchronized (this) {
+      observedVersion = version;
+    }
+
+    int capacity = properties.getListCache().getCapacity();
+    NoteFilter filter = NoteFilter.builder().allTags(List.copyOf(key)).build();
+    List<CachedNote> notes = noteRepository.findNotes(filter, PageRequest.of(0, capacity),
+            CACHED_FIELDS).stream()
+        .map(CachedNote::of)
+        .toList();
+    CachedPage page = new CachedPage(notes, notes.size() < capacity, System.nanoTime());
+
+    synchronized (this) {
+      if (version == observedVersion) {
+        pages.put(key, page);
+      }
+    }
+    return page;
+  }
+
+  private boolean isExpired(CachedPage page) {
+    return !properties.getChangeStream().isEnabled()
+        && System.nanoTime() - page.loadedNanos() >= properties.getListCache().getMaxAge()
+        .toNanos();
+  }
+
+  private static boolean isNewestFirst(Sort sort) {
+    return sort.isUnsorted()
+        || sort.equals(Sort.by(Sort.Direction.DESC, NoteProjection.CREATED_DATE));
+  }
+
+  /**
+   * The newest notes of one tag combination.
+   *
+   * @param notes    the notes, newest first
+   * @param complete    whether these are all notes of the combination
+   * @param loadedNanos when the page was loaded from the database, in {@link System#nanoTime()}
+   */
+  private record CachedPage(List<CachedNote> notes, boolean complete, long loadedNanos) {
+
+    boolean canServe(int size) {
+      return complete || notes.size() >= size;
+    }
+
+    CachedPage apply(String noteId, CachedNote changed, Set<Tag> key, int capacity) {
+      List<CachedNote> updated = new ArrayList<>(notes);
+      updated.removeIf(note -> note.id().equals(noteId));
+
+      boolean stillComplete = complete;
+      if (changed != null && changed.tags().containsAll(key)) {
+        int position = 0;
+        while (position < updated.size()
+            && NEWEST_FIRST.compare(updated.get(position), changed) <= 0) {
+          position++;
+        }
+        // Past the end of an incomplete page there may be uncached notes that are newer.
+        if (position < updated.size() || complete) {
+          updated.add(position, changed);
+        }
+        if (updated.size() > capacity) {
+          updated.remove(updated.size() - 1);
+          stillComplete = false;
+        }
+      }
+      return new CachedPage(List.copyOf(updated), stillComplete, loadedNanos);
+    }
+  }
+
+  /**
+   * The list fields of a cached note.
+   */
+  private record CachedNote(String id, String title, LocalDateTime createdDate, List<Tag> tags) {
+
+    static CachedNote of(Note note) {
+      List<Tag> tags = note.getTags() != null ? List.copyOf(note.getTags()) : List.of();
+      return new CachedNote(note.getId(), note.getTitle(), note.getCreatedDate(), tags);
+    }
+
+    Note toNote(NoteProjection projection) {
+      return Note.builder()
+          .id(projection.includes(NoteProjection.ID) ? id : null)
+          .title(projection.includes(NoteProjection.TITLE) ? title : null)
+          .createdDate(projection.includes(NoteProjection.CREATED_DATE) ? createdDate : null)
+          .tags(projection.includes(NoteProjection.TAGS) ? tags : null)
+          .lastModified(null)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,235 @@
+package com.antond.cache;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.NoteFields;
+import com.antond.entity.Note;
+import com.antond.event.NoteChangeStreamListener;
+import com.antond.event.NoteChangedEvent;
+import com.antond.event.NoteChangesLostEvent;
+import com.antond.repository.NoteRepositoryCustom;
+import com.antond.utils.BloomFilter;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Probabilistic set of the IDs of all existing notes, hot and archived, used to answer lookups of
+ * unknown IDs with a 404 without querying the database. It is a {@link BloomFilter}: an ID it does
+ * not contain definitely does not exist, while an ID it contains is checked against the database as
+ * usual. The filter is seeded at startup by streaming the IDs of both collections and is kept
+ * current from {@link NoteChangedEvent}s. Deleted IDs cannot be removed from a Bloom filter; they
+ * only raise the false positive rate, so the filter is rebuilt once enough notes were deleted, or
+ * more were created than it was sized for.
+ *
+ * <p>Until the filter is seeded, and whenever it might have missed a note, every ID is reported as
+ * possibly existing. IDs minted within the configured grace period are always looked up too, which
+ * covers notes of other instances whose change events have not arrived yet. With more than one
+ * instance, the change stream must be enabled; the filter is then only used while the stream is
+ * watched, and seeding starts once it is.
+ */
+@Slf4j
+@Component
+public class NoteIdFilter {
+
+  private static final long MIN_EXPECTED_INSERTIONS = 10_000;
+
+  private final MongoTemplate mongoTemplate;
+  private final NoteChangeStreamListener changeStreamListener;
+  private final NotebookProperties properties;
+  private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().daemon().name("note-id-filter").factory());
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+  private final AtomicLong deletions = new AtomicLong();
+
+  private volatile BloomFilter filter;
+  private volatile BloomFilter pending;
+  private volatile long seededCount;
+
+  /**
+   * Creates the filter.
+   *
+   * @param mongoTemplate        the template used to stream the existing IDs
+   * @param changeStreamListener the listener whose state tells whether changes of other instances
+   *                             are observed
+   * @param properties           the application properties holding the filter settings
+   */
+  public NoteIdFilter(MongoTemplate mongoTemplate, NoteChangeStreamListener changeStreamListener,
+      NotebookProperties properties) {
+    this.mongoTemplate = mongoTemplate;
+    this.changeStreamListener = changeStreamListener;
+    this.properties = properties;
+  }
+
+  /**
+   * Seeds the filter in the background once the application is ready, if enabled.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (properties.getIdFilter().isEnabled()) {
+      scheduleRebuild();
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    rebuilder.shutdownNow();
+  }
+
+  /**
+   * Checks whether a note with the given ID might exist.
+   *
+   * @param id the ID to look up
+   * @return false if no note with this ID exists, true if one might
+   */
+  public boolean mightExist(String id) {
+    BloomFilter current = filter;
+    if (current == null || !changesObserved()) {
+      return true;
+    }
+    if (ObjectId.isValid(id)) {
+      ObjectId objectId = new ObjectId(id);
+      if (isRecent(objectId)) {
+        return true;
+      }
+      return current.mightContain(objectId.toHexString());
+    }
+    return current.mightContain(id);
+  }
+
+  /**
+   * Adds created notes to the filter and counts deletions towards the next rebuild.
+   *
+   * @param event the change of a note
+   */
+  @EventListener
+  public void onNoteChanged(NoteChangedEvent event) {
+    if (!properties.getIdFilter().isEnabled()) {
+      return;
+    }
+    switch (event.type()) {
+      case CREATED, UPDATED -> add(event.noteId());
+      case DELETED -> {
+        long deleted = deletions.incrementAndGet();
+        if (deleted > seededCount * properties.getIdFilter().getMaxDeletedRatio()) {
+          scheduleRebuild();
+        }
+      }
+      case ARCHIVED -> {
+        // Archived notes keep their ID and stay readable.
+      }
+    }
+  }
+
+  /**
+   * Stops using the filter and rebuilds it, as changes might have been missed.
+   *
+   * @param event the notification that changes were lost
+   */
+  @EventListener
+  public void onNoteChangesLost(NoteChangesLostEvent event) {
+    if (properties.getIdFilter().isEnabled()) {
+      filter = null;
+      scheduleRebuild();
+    }
+  }
+
+  private synchronized void add(String id) {
+    String key = ObjectId.isValid(id) ? new ObjectId(id).toHexString() : id;
+    BloomFilter current = filter;
+    if (current != null) {
+      current.put(key);
+      if (current.isSaturated()) {
+        scheduleRebuild();
+      }
+    }
+    if (pending != null) {
+      pending.put(key);
+    }
+  }
+
+  private void scheduleRebuild() {
+    if (rebuildScheduled.compareAndSet(false, true)) {
+      rebuilder.execute(this::rebuild);
+    }
+  }
+
+  private void rebuild() {
+    try {
+      awaitChangeStream();
+      List<MongoCollection<Document>> collections = List.of(
+          mongoTemplate.getCollection(mongoTemplate.getCollectionName(Note.class)),
+          mongoTemplate.getCollection(NoteRepositoryCustom.ARCHIVE_COLLECTION));
+      long count = collections.stream()
+          .mapToLong(MongoCollection::estimatedDocumentCount)
+          .sum();
+      BloomFilter rebuilt = new BloomFilter(Math.max(MIN_EXPECTED_INSERTIONS, count * 2),
+          properties.getIdFilter().getFalsePositiveRate());
+
+      // Notes created from now on are added by the change events, the older ones by the scan.
+      rebuildScheduled.set(false);
+      synchronized (this) {
+        pending = rebuilt;
+      }
+      long seeded = 0;
+      for (MongoCollection<Document> collection : collections) {
+        try (MongoCursor<Document> cursor = collection.find()
+            .projection(Projections.include(NoteFields.ID))
+            .batchSize(10_000)
+            .iterator()) {
+          while (cursor.hasNext()) {
+            Object id = cursor.next().get(NoteFields.ID);
+            rebuilt.put(id instanceof ObjectId objectId ? objectId.toHexString() : id.toString());
+            seeded++;
+          }
+        }
+      }
+      synchronized (this) {
+        filter = rebuilt;
+        pending = null;
+        seededCount = seeded;
+        deletions.set(0);
+      }
+      log.info("Note ID filter seeded with {} IDs", seeded);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      log.warn("Could not seed the note ID filter, lookups go to the database", e);
+      synchronized (this) {
+        pending = null;
+      }
+      rebuildScheduled.set(false);
+    }
+  }
+
+  private void awaitChangeStream() throws InterruptedException {
+    while (properties.getChangeStream().isEnabled() && !changeStreamListener.isWatching()) {
+      Thread.sleep(properties.getChangeStream().getRetryDelayMillis());
+    }
+  }
+
+  private boolean changesObserved() {
+    return !properties.getChangeStream().isEnabled() || changeStreamListener.isWatching();
+  }
+
+  private boolean isRecent(ObjectId id) {
+    Duration grace = properties.getIdFilter().getRecentIdGrace();
+    Instant minted = Instant.ofEpochSecond(id.getTimestamp());
+    Instant now = Instant.now();
+    return minted.isAfter(now.minus(grace)) && minted.isBefore(now.plus(grace));
+  }
+}
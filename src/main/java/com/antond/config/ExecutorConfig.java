@@ -0,0 +1,32 @@
+package com.antond.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executors for CPU bound work that is split off request threads.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  /**
+   * Executor running word statistics computations of batch requests, with one thread per core so
+   * that batches cannot oversubscribe the CPU. Its queue is bounded; when it is full, the
+   * submitting thread computes the statistics itself, which slows down the submitters instead of
+   * buffering more work.
+   *
+   * @return the statistics executor
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService statsExecutor() {
+    int cores = Runtime.getRuntime().availableProcessors();
+    return new ThreadPoolExecutor(cores, cores, 0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(cores * 32),
+        Thread.ofPlatform().daemon().name("note-stats-", 0).factory(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+}
@@ -0,0 +1,59 @@
+package com.antond.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Jackson customizations. Module beans declared here are registered with the ObjectMapper that
+ * Spring Boot auto-configures for the message converters.
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Replaces reflective property access in bean (de)serializers, such as those of Note,
+   * NoteResponse and the request DTOs, with generated lambdas.
+   *
+   * @return the Blackbird module
+   */
+  @Bean
+  public Module blackbirdModule() {
+    return new BlackbirdModule();
+  }
+
+  /**
+   * Reads and writes {@code application/cbor} bodies. Replaces the default CBOR converter of Spring
+   * MVC with one built from the auto-configured builder, so that it shares the modules and
+   * settings of the JSON ObjectMapper. JSON stays the format of requests that accept any type.
+   *
+   * @param builder the builder configured by Spring Boot
+   * @return the CBOR message converter
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+
+  /**
+   * Reads and writes {@code application/x-jackson-smile} bodies, configured like
+   * {@link #cborHttpMessageConverter(Jackson2ObjectMapperBuilder)}.
+   *
+   * @param builder the builder configured by Spring Boot
+   * @return the Smile message converter
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(
+        builder.factory(new SmileFactory()).build());
+  }
+}
@@ -0,0 +1,43 @@
+package com.antond.config;
+
+import com.antond.mapper.NoteReadingConverter;
+import com.antond.mapper.NoteWritingConverter;
+import com.antond.timing.MongoCommandTimingListener;
+import java.util.List;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * MongoDB client and mapping customizations. The conversions declared here replace the ones Spring
+ * Boot auto-configures and are picked up by the MongoTemplate and the repositories.
+ */
+@Configuration
+public class MongoConfig {
+
+  /**
+   * Registers the hand-written note converters if they are enabled, so that notes are read and
+   * written field by field instead of through reflective entity mapping.
+   *
+   * @param properties the notebook settings deciding whether the converters are used
+   * @return the custom conversions, including the note converters if they are enabled
+   */
+  @Bean
+  public MongoCustomConversions mongoCustomConversions(NotebookProperties properties) {
+    return new MongoCustomConversions(properties.getStorage().isHandWrittenConverters()
+        ? List.of(new NoteReadingConverter(), new NoteWritingConverter())
+        : List.of());
+  }
+
+  /**
+   * Registers the listener that attributes the time of MongoDB commands to the requests issuing
+   * them.
+   *
+   * @return the customizer adding the command listener to the client settings
+   */
+  @Bean
+  public MongoClientSettingsBuilderCustomizer commandTimingCustomizer() {
+    return builder -> builder.addCommandListener(new MongoCommandTimingListener());
+  }
+}
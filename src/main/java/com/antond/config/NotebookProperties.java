@@ -0,0 +1,375 @@
+package com.antond.config;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Application specific configuration bound from the {@code notebook.*} namespace. Every group has
+ * sensible defaults so the application starts without any of these properties being set.
+ */
+@Data
+@ConfigurationProperties(prefix = "notebook")
+public class NotebookProperties {
+
+  private final Stats stats = new Stats();
+  private final Storage storage = new Storage();
+  private final Text text = new Text();
+  private final Admission admission = new Admission();
+  private final ListCache listCache = new ListCache();
+  private final ChangeStream changeStream = new ChangeStream();
+  private final Archive archive = new Archive();
+  private final Http http = new Http();
+  private final Timing timing = new Timing();
+  private final IdFilter idFilter = new IdFilter();
+  private final Batch batch = new Batch();
+  private final Events events = new Events();
+  private final Sync sync = new Sync();
+
+  /**
+   * Settings for the word statistics features.
+   */
+  @Data
+  public static class Stats {
+
+    /**
+     * Maximum number of distinct words collected while analyzing a streamed text. Requests that
+     * exceed it are rejected instead of growing the vocabulary without bound.
+     */
+    private int maxVocabulary = 100_000;
+
+    /**
+     * Maximum number of characters of a single word collected while analyzing a streamed text.
+     * Requests containing a longer run of word characters are rejected, so that one word cannot
+     * grow without bound either.
+     */
+    private int maxWordLength = 1024;
+  }
+
+  /**
+   * Settings for reading note texts.
+   */
+  @Data
+  public static class Text {
+
+    /**
+     * Maximum number of code points returned by a single text range read, also used as the
+     * default when no length is requested.
+     */
+    private int maxSliceLength = 64 * 1024;
+  }
+
+  /**
+   * Settings for the in-memory cache of the newest notes, used to serve first pages of the list
+   * endpoints without querying the database.
+   */
+  @Data
+  public static class ListCache {
+
+    private boolean enabled = true;
+
+    /**
+     * Number of newest notes kept per tag combination; first pages bigger than this are always
+     * read from the database.
+     */
+    private int capacity = 50;
+
+    /**
+     * Time after which a cached page is reloaded when the change stream is disabled, bounding how
+     * long the writes of other instances can be missing from first pages.
+     */
+    private Duration maxAge = Duration.ofSeconds(5);
+  }
+
+  /**
+   * Settings for following the change stream of the notes collection, which keeps the local caches
+   * consistent with the writes of other instances. Requires MongoDB to run as a replica set.
+   */
+  @Data
+  public static class ChangeStream {
+
+    private boolean enabled = false;
+
+    /**
+     * Maximum time a poll of the change stream waits for new changes, which also bounds how long
+     * stopping the listener takes.
+     */
+    private long maxAwaitMillis = 1000;
+
+    /**
+     * Delay before reconnecting after the change stream failed.
+     */
+    private long retryDelayMillis = 1000;
+  }
+
+  /**
+   * Settings for the background archiver, which moves old notes out of the hot collection so that
+   * its indexes stay small enough to be kept in memory.
+   */
+  @Data
+  public static class Archive {
+
+    private boolean enabled = false;
+
+    /**
+     * Notes created longer ago than this are moved to the archive collection.
+     */
+    private Duration maxAge = Duration.ofDays(365);
+
+    /**
+     * Number of notes moved per batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Delay between two archiver runs; bound to the scheduler, so only ISO-8601 durations such as
+     * {@code PT1H} are supported.
+     */
+    private Duration interval = Duration.ofHours(1);
+  }
+
+  /**
+   * Settings for HTTP responses.
+   */
+  @Data
+  public static class Http {
+
+    /**
+     * How long clients and shared caches may reuse list responses that are addressed by their URL
+     * alone.
+     */
+    private Duration listMaxAge = Duration.ofSeconds(5);
+  }
+
+  /**
+   * Settings for reading several notes by their IDs at once.
+   */
+  @Data
+  public static class Batch {
+
+    /**
+     * Maximum number of IDs a single batch read may ask for.
+     */
+    private int maxIds = 100;
+  }
+
+  /**
+   * Settings for syncing clients with the notes changed since their previous sync.
+   */
+  @Data
+  public static class Sync {
+
+    /**
+     * Maximum number of changes returned by one sync request, also used as the default.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Changes younger than this are held back until the next sync, so that writes still in flight,
+     * or stamped by an instance whose clock runs slightly behind, cannot be skipped.
+     */
+    private Duration settleDelay = Duration.ofSeconds(2);
+
+    /**
+     * How long deletions are remembered. Clients whose sync token is older have to sync from
+     * scratch.
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+  }
+
+  /**
+   * Settings for the server-sent events feed of note changes.
+   */
+  @Data
+  public static class Events {
+
+    /**
+     * Maximum number of open subscriptions; further subscribers are rejected with 503.
+     */
+    private int maxSubscribers = 10_000;
+
+    /**
+     * Number of changes queued per subscriber. A subscriber falling further behind loses the
+     * queued changes and is told to reload instead.
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Delay between two heartbeat comments; bound to the scheduler, so only ISO-8601 durations
+     * such as {@code PT30S} are supported.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /**
+     * Time after which a subscription is closed, so that clients reconnect periodically.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+  }
+
+  /**
+   * Settings for the filter of existing note IDs, which answers lookups of unknown IDs without
+   * querying the database. With more than one instance, it requires the change stream.
+   */
+  @Data
+  public static class IdFilter {
+
+    private boolean enabled = false;
+
+    /**
+     * Share of lookups of unknown IDs that still reach the database.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * IDs minted less than this long ago are always looked up in the database, as their notes
+     * might have been created by another instance whose change has not arrived yet.
+     */
+    private Duration recentIdGrace = Duration.ofSeconds(30);
+
+    /**
+     * Number of deletions, relative to the number of IDs the filter was seeded with, after which
+     * it is rebuilt to forget the deleted IDs.
+     */
+    private double maxDeletedRatio = 0.2;
+  }
+
+  /**
+   * Settings for the per-request phase timing reported in {@code Server-Timing} headers.
+   */
+  @Data
+  public static class Timing {
+
+    private boolean enabled = true;
+
+    /**
+     * Fraction of requests, between 0 and 1, that get a {@code Server-Timing} header without
+     * asking for it. Their response bodies are buffered to include the serialization time.
+     */
+    private double headerSampleRate = 0.0;
+
+    /**
+     * Largest response body, in bytes, that is buffered for the {@code Server-Timing} header.
+     * Larger and streamed bodies are sent as they are written, with a header that leaves the
+     * serialization time out.
+     */
+    private int maxBufferSize = 64 * 1024;
+
+    /**
+     * Requests taking at least this long are logged with their breakdown.
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+  }
+
+  /**
+   * Settings for how notes are stored in the database.
+   */
+  @Data
+  public static class Storage {
+
+    private final Compression compression = new Compression();
+
+    /**
+     * Whether notes are mapped by the hand-written converters instead of the reflective entity
+     * mapping of Spring Data. Off until NoteMappingBenchmark shows that they are faster.
+     */
+    private boolean handWrittenConverters = false;
+  }
+
+  /**
+   * Settings for compressing large note texts at rest.
+   */
+  @Data
+  public static class Compression {
+
+    /**
+     * Whether newly written texts above {@link #minSize} are stored compressed. Compressed texts
+     * are always read back transparently, regardless of this flag.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Minimum UTF-8 size in bytes a text must have to be compressed.
+     */
+    private int minSize = 16 * 1024;
+
+    /**
+     * Deflate compression level, from 1 (fastest) to 9 (smallest).
+     */
+    private int level = 1;
+
+    /**
+     * Migration to run over the existing notes at startup.
+     */
+    private CompressionMigrationMode migration = CompressionMigrationMode.NONE;
+
+    /**
+     * Number of notes rewritten per batch by the migration.
+     */
+    private int migrationBatchSize = 200;
+  }
+
+  /**
+   * Settings for admission control. Every endpoint class has its own adaptive concurrency limit;
+   * requests beyond it are rejected with 503 instead of waiting for a server thread.
+   */
+  @Data
+  public static class Admission {
+
+    private boolean enabled = true;
+
+    /**
+     * Value of the Retry-After header sent with rejected requests.
+     */
+    private int retryAfterSeconds = 1;
+
+    private final ConcurrencyLimit cheapRead = new ConcurrencyLimit(40, 4, 150, 100);
+    private final ConcurrencyLimit list = new ConcurrencyLimit(20, 2, 60, 250);
+    private final ConcurrencyLimit stats = new ConcurrencyLimit(8, 1, 24, 1000);
+    private final ConcurrencyLimit write = new ConcurrencyLimit(20, 2, 60, 250);
+  }
+
+  /**
+   * Limits of one endpoint class for the AIMD concurrency limiter.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ConcurrencyLimit {
+
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 100;
+
+    /**
+     * Length of the windows whose mean latency is compared against the baseline. The limit shrinks
+     * at most once per window.
+     */
+    private long windowMillis = 250;
+
+    /**
+     * Factor by which the mean latency of a window may exceed the baseline before the limit
+     * shrinks.
+     */
+    private double latencyTolerance = 2.0;
+
+    /**
+     * Factor applied to the limit when a window exceeds the tolerated latency.
+     */
+    private double backoffRatio = 0.9;
+
+    ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long windowMillis) {
+      this(initialLimit, minLimit, maxLimit, windowMillis, 2.0, 0.9);
+    }
+  }
+
+  /**
+   * Migrations available for moving existing notes between the plain and compressed layouts.
+   */
+  public enum CompressionMigrationMode {
+    NONE,
+    COMPRESS,
+    DECOMPRESS
+  }
+}
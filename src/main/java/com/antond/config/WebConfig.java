@@ -0,0 +1,22 @@
+package com.antond.config;
+
+import com.antond.limiter.AdmissionControlInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC customizations for the notes API.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final AdmissionControlInterceptor admissionControlInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/notes", "/notes/**");
+  }
+}
@@ -0,0 +1,28 @@
+package com.antond.constants;
+
+/**
+ * Names of the fields of a note document as stored in the {@code notes} collection. Used wherever
+ * documents are read or written without going through the entity mapping.
+ */
+public final class NoteFields {
+
+  public static final String ID = "_id";
+  public static final String TITLE = "title";
+  public static final String TEXT = "text";
+  public static final String CREATED_DATE = "createdDate";
+  public static final String TAGS = "tags";
+  public static final String LAST_MODIFIED = "lastModified";
+
+  /**
+   * Binary field holding the compressed text when the text is stored compressed.
+   */
+  public static final String COMPRESSED_TEXT = "compressedText";
+
+  /**
+   * Marker identifying the codec that was used to produce {@link #COMPRESSED_TEXT}.
+   */
+  public static final String TEXT_CODEC = "textCodec";
+
+  private NoteFields() {
+  }
+}
@@ -1,31 +1,70 @@
 package com.antond.controller;
 
+import com.antond.config.NotebookProperties;
 import com.antond.constants.Tag;
 import com.antond.dto.request.CreateNoteRequest;
+import com.antond.dto.request.NoteListRequest;
+import com.antond.dto.request.NotePatchRequest;
+import com.antond.dto.request.NoteStatsBatchRequest;
 import com.antond.dto.request.UpdateNoteRequest;
+import com.antond.dto.response.NoteBatchResponse;
 import com.antond.dto.response.NoteResponse;
+import com.antond.dto.response.NoteStatsBatchItem;
+import com.antond.dto.response.NoteSyncResponse;
+import com.antond.dto.response.NoteTextSlice;
 import com.antond.entity.Note;
+import com.antond.event.NoteEventBroadcaster;
 import com.antond.exception.NoteNotFoundException;
+import com.antond.exception.RangeNotSatisfiableException;
+import com.antond.exception.ServiceOverloadedException;
+import com.antond.limiter.AdmissionClass;
+import com.antond.limiter.EndpointClass;
+import com.antond.mapper.NoteDocumentJsonWriter;
 import com.antond.mapper.NoteToNoteResponseMapper;
+import com.antond.repository.NoteCursor;
+import com.antond.repository.NoteFilter;
+import com.antond.repository.NoteProjection;
 import com.antond.service.NoteService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
@@ -37,8 +76,27 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @RequestMapping("/notes")
 public class NoteController {
 
+  /**
+   * Response header carrying the cursor of the next page of a list endpoint.
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /**
+   * Media type of JSON Merge Patch documents (RFC 7396).
+   */
+  public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+  private static final NoteProjection TEXT_PROJECTION =
+      NoteProjection.forNote(List.of(NoteProjection.ID, NoteProjection.TEXT));
+
   private final NoteService noteService;
   private final NoteToNoteResponseMapper mapper;
+  private final NoteDocumentJsonWriter documentWriter;
+  private final MappingJackson2HttpMessageConverter jsonConverter;
+  private final MappingJackson2CborHttpMessageConverter cborConverter;
+  private final MappingJackson2SmileHttpMessageConverter smileConverter;
+  private final NotebookProperties properties;
+  private final NoteEventBroadcaster eventBroadcaster;
 
   /**
    * Creates a new note with the provided details.
@@ -62,55 +120,192 @@ public class NoteController {
   }
 
   /**
-   * Retrieves all notes with pagination support.
+   * Retrieves all notes with pagination support, ordered by creation date. When the page is full,
+   * the {@value #NEXT_CURSOR_HEADER} header carries a cursor for the next page, to be passed as
+   * {@code after}; keyset pages read only the notes they return, however deep they are.
    *
-   * @param page the page number to retrieve (zero-based, defaults to 0)
-   * @param size the number of notes per page (defaults to 10)
+   * @param request the pagination, sort direction, date range, field selection and archive
+   *                parameters
    * @return ResponseEntity containing a paginated list of note responses
-   * @throws IllegalArgumentException if page is less than 0 or size is less than 1
+   * @throws IllegalArgumentException if page is less than 0, size is less than 1, the direction or
+   *                                  cursor is invalid or an unsupported field is requested
    */
+  @AdmissionClass(EndpointClass.LIST)
   @GetMapping
-  public ResponseEntity<List<NoteResponse>> getAllNotes(
-      @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size) {
+  public ResponseEntity<List<NoteResponse>> getAllNotes(NoteListRequest request) {
+    return listResponse(request, filter(request).build(), CacheControl.empty());
+  }
+
+  /**
+   * Streams notes with pagination support. The response has the same shape as
+   * {@link #getAllNotes(NoteListRequest)}, but every note is written straight from the database
+   * cursor to the response, without building entity or DTO lists, which keeps memory usage flat
+   * for large page sizes. No next page cursor is returned, as headers are sent before the notes.
+   * Like every other endpoint, it answers in CBOR or Smile instead of JSON when the client accepts
+   * only those.
+   *
+   * @param tags    optional tags that the notes must all carry
+   * @param accept  the media types accepted by the client
+   * @param request the pagination, sort direction, date range, field selection and archive
+   *                parameters
+   * @return ResponseEntity streaming an array of note responses
+   * @throws HttpMediaTypeNotAcceptableException if none of the supported formats is accepted
+   * @throws IllegalArgumentException if page is less than 0, size is less than 1, the direction or
+   *                                  cursor is invalid or an unsupported field is requested
+   */
+  @AdmissionClass(EndpointClass.LIST)
+  @GetMapping("/stream")
+  public ResponseEntity<StreamingResponseBody> streamNotes(
+      @RequestParam(required = false) List<Tag> tags,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      NoteListRequest request) throws HttpMediaTypeNotAcceptableException {
+
+    Pageable pageable = pageable(request);
+    NoteProjection projection = NoteProjection.forList(request.getFields());
+    NoteFilter filter = filter(request).allTags(tags != null ? tags : List.of()).build();
+    AbstractJackson2HttpMessageConverter converter = streamingConverter(accept);
+    ObjectMapper streamingMapper = converter.getObjectMapper();
 
-    Pageable pageable = PageRequest.of(page, size);
-    List<Note> notes = noteService.getAllNotes(pageable);
-    return ResponseEntity.ok(mapper.apply(notes));
+    StreamingResponseBody body = out -> {
+      try (JsonGenerator generator = streamingMapper.createGenerator(out)) {
+        generator.writeStartArray();
+        noteService.streamNotes(filter, pageable, projection,
+            document -> documentWriter.write(generator, document));
+        generator.writeEndArray();
+      }
+    };
+    return ResponseEntity.ok()
+        .contentType(converter.getSupportedMediaTypes().get(0))
+        .body(body);
   }
 
   /**
-   * Retrieves notes filtered by specified tags with pagination and sorting. Notes are returned in
-   * descending order by creation date.
+   * Retrieves notes filtered by tags with pagination and sorting. Notes are returned in descending
+   * order by creation date unless another direction is requested. Like
+   * {@link #getAllNotes(NoteListRequest)}, full pages carry a next page cursor.
    *
-   * @param tags the list of tags to filter notes by (provided in request body)
-   * @param page the page number to retrieve (zero-based, defaults to 0)
-   * @param size the number of notes per page (defaults to 10)
+   * <p>The tags are preferably given as query parameters: notes must carry every tag of
+   * {@code all}, at least one tag of {@code any} and none of {@code none}. Such requests are
+   * cacheable by URL, so responses carry a short {@code Cache-Control} max-age. For compatibility,
+   * a JSON request body with a list of tags is still accepted and added to {@code all}.
+   *
+   * @param tags    optional list of tags the notes must all carry (provided in request body)
+   * @param all     tags the notes must all carry
+   * @param any     tags of which the notes must carry at least one
+   * @param none    tags the notes must not carry
+   * @param request the pagination, sort direction, date range, field selection and archive
+   *                parameters
    * @return ResponseEntity containing a paginated list of note responses matching the specified
    * tags
-   * @throws IllegalArgumentException if page is less than 0 or size is less than 1
+   * @throws IllegalArgumentException if page is less than 0, size is less than 1, the direction or
+   *                                  cursor is invalid or an unsupported field is requested
    */
+  @AdmissionClass(EndpointClass.LIST)
   @GetMapping("/tag")
   public ResponseEntity<List<NoteResponse>> getNotesByTag(
-      @RequestBody List<Tag> tags,
-      @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestBody(required = false) List<Tag> tags,
+      @RequestParam(required = false) List<Tag> all,
+      @RequestParam(required = false) List<Tag> any,
+      @RequestParam(required = false) List<Tag> none,
+      NoteListRequest request) {
+
+    List<Tag> allTags = new ArrayList<>();
+    if (tags != null) {
+      allTags.addAll(tags);
+    }
+    if (all != null) {
+      allTags.addAll(all);
+    }
+    NoteFilter filter = filter(request)
+        .allTags(allTags)
+        .anyTags(any != null ? any : List.of())
+        .noneTags(none != null ? none : List.of())
+        .build();
+
+    // Caches key responses by URL only, so responses selected by a request body must not be cached.
+    CacheControl cacheControl = tags != null ? CacheControl.empty()
+        : CacheControl.maxAge(properties.getHttp().getListMaxAge()).cachePublic();
+    return listResponse(request, filter, cacheControl);
+  }
+
+  /**
+   * Retrieves several notes by their IDs with a single database query, as a cheaper alternative to
+   * parallel requests for single notes. Found notes are returned in the order of the requested IDs;
+   * IDs without a note are listed as missing.
+   *
+   * @param ids    the IDs of the notes to retrieve, up to the configured maximum
+   * @param fields the fields to return, any of id, title, createdDate and tags (defaults to all of
+   *               them)
+   * @return ResponseEntity containing the found notes and the missing IDs, which are listed in
+   *         their normalized, lowercase form if they are ObjectIds
+   * @throws IllegalArgumentException if no IDs or too many are requested, or an unsupported field
+   *                                  is requested
+   */
+  @AdmissionClass(EndpointClass.LIST)
+  @GetMapping("/batch")
+  public ResponseEntity<NoteBatchResponse> getNotesByIds(@RequestParam List<String> ids,
+      @RequestParam(required = false) List<String> fields) {
+    Map<String, Note> notes = noteService.getNotesByIds(ids, NoteProjection.forList(fields));
+    List<String> missing = ids.stream()
+        .map(NoteService::normalizeId)
+        .distinct()
+        .filter(id -> !notes.containsKey(id))
+        .toList();
+    return ResponseEntity.ok(NoteBatchResponse.builder()
+        .notes(mapper.apply(List.copyOf(notes.values())))
+        .missing(missing)
+        .build());
+  }
+
+  /**
+   * Returns the notes created, updated and deleted since a previous sync, so that clients can keep
+   * a local copy current without downloading every note again. Changes are returned in batches;
+   * while {@code hasMore} is set, the client should sync again right away with the returned token.
+   *
+   * @param token the {@code nextToken} of the previous sync, or none for a first sync
+   * @param limit the maximum number of changes to return (defaults to the configured maximum)
+   * @return ResponseEntity containing the changed notes, the deleted note IDs and the next token
+   * @throws IllegalArgumentException if the token is malformed or the limit is out of range
+   */
+  @AdmissionClass(EndpointClass.LIST)
+  @GetMapping("/sync")
+  public ResponseEntity<NoteSyncResponse> syncNotes(@RequestParam(required = false) String token,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(noteService.getChangesSince(token, limit));
+  }
 
-    Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdDate"));
-    List<Note> notes = noteService.getNotesByTag(tags, pageable);
-    return ResponseEntity.ok(mapper.apply(notes));
+  /**
+   * Subscribes to a server-sent events feed of note changes. Every created, updated or deleted
+   * note is sent as an event named {@code created}, {@code updated} or {@code deleted}, carrying
+   * its ID, title, creation date and tags; deletions carry the ID only. A subscriber that falls
+   * too far behind receives an {@code overflow} event instead of the changes it missed and should
+   * reload the notes.
+   *
+   * @param tags tags a created or updated note must all carry to be sent (defaults to all notes);
+   *             deletions are always sent
+   * @return the emitter streaming the changes
+   * @throws ServiceOverloadedException if too many subscriptions are open
+   */
+  @AdmissionClass(EndpointClass.SUBSCRIPTION)
+  @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter subscribeToChanges(@RequestParam(required = false) List<Tag> tags) {
+    return eventBroadcaster.subscribe(tags != null ? tags : List.of());
   }
 
   /**
    * Retrieves a specific note by its unique identifier.
    *
-   * @param id the unique identifier of the note to retrieve
+   * @param id     the unique identifier of the note to retrieve
+   * @param fields the fields to return, any of id, title, text, createdDate and tags (defaults to
+   *               all fields)
    * @return ResponseEntity containing the requested note
-   * @throws NoteNotFoundException if no note exists with the given ID
+   * @throws NoteNotFoundException    if no note exists with the given ID
+   * @throws IllegalArgumentException if an unsupported field is requested
    */
   @GetMapping("/{id}")
-  public ResponseEntity<Note> getNoteById(@PathVariable String id) {
-    return ResponseEntity.ok(noteService.getNoteById(id));
+  public ResponseEntity<Note> getNoteById(@PathVariable String id,
+      @RequestParam(required = false) List<String> fields) {
+    return ResponseEntity.ok(noteService.getNoteById(id, NoteProjection.forNote(fields)));
   }
 
   /**
@@ -121,11 +316,102 @@ public class NoteController {
    * @return ResponseEntity containing a map of statistic names to their values
    * @throws NoteNotFoundException if no note exists with the given ID
    */
+  @AdmissionClass(EndpointClass.STATS)
   @GetMapping("/{id}/stats")
   public ResponseEntity<Map<String, Long>> getNoteStatsById(@PathVariable String id) {
     return ResponseEntity.ok(noteService.getNoteStatsById(id));
   }
 
+  /**
+   * Retrieves a part of a note's text as plain text, so that clients can preview or page through
+   * huge notes without downloading them in full. Offsets and lengths are counted in Unicode code
+   * points. A response that does not cover the whole text has status 206 and a
+   * {@code Content-Range} header in the {@code chars} unit, e.g. {@code chars 0-99/5000}. Empty
+   * slices, which only an empty text yields, carry no {@code Content-Range}; an offset beyond the
+   * end of the text is answered with 416 and {@code chars *}{@code /<length>}.
+   *
+   * @param id     the unique identifier of the note
+   * @param offset the index of the first code point to return (defaults to 0)
+   * @param length the maximum number of code points to return (defaults to the configured maximum)
+   * @return ResponseEntity containing the requested part of the text
+   * @throws NoteNotFoundException        if no note exists with the given ID
+   * @throws RangeNotSatisfiableException if the offset lies beyond the end of the text
+   * @throws IllegalArgumentException     if the offset is negative or the length is out of range
+   */
+  @GetMapping(value = "/{id}/text", produces = MediaType.TEXT_PLAIN_VALUE)
+  public ResponseEntity<String> getNoteText(@PathVariable String id,
+      @RequestParam(defaultValue = "0") int offset,
+      @RequestParam(required = false) Integer length) {
+    NoteTextSlice slice = noteService.getNoteTextSlice(id, offset, length);
+    int end = slice.getOffset() + slice.getText().codePointCount(0, slice.getText().length());
+    boolean partial = slice.getOffset() > 0 || end < slice.getTotalLength();
+
+    ResponseEntity.BodyBuilder response = ResponseEntity
+        .status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+        .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+        .header(HttpHeaders.ACCEPT_RANGES, "chars");
+    if (end > slice.getOffset()) {
+      response.header(HttpHeaders.CONTENT_RANGE,
+          "chars " + slice.getOffset() + "-" + (end - 1) + "/" + slice.getTotalLength());
+    }
+    return response.body(slice.getText());
+  }
+
+  /**
+   * Calculates word statistics for the text sent in the request body without storing it. The body
+   * is tokenized straight from the request input stream, so large documents can be analyzed before
+   * deciding whether to create a note from them.
+   *
+   * @param body reader over the plain text request body
+   * @return ResponseEntity containing a map of words to their occurrence counts
+   * @throws com.antond.exception.VocabularyLimitExceededException if the text contains more
+   *                                                               distinct words than allowed
+   * @throws com.antond.exception.WordLengthExceededException      if the text contains a word
+   *                                                               longer than allowed
+   */
+  @AdmissionClass(EndpointClass.STATS)
+  @PostMapping("/stats")
+  public ResponseEntity<Map<String, Long>> calculateTextStats(Reader body) {
+    return ResponseEntity.ok(noteService.calculateTextStats(body));
+  }
+
+  /**
+   * Calculates the word statistics of several notes at once. The texts are read with a single
+   * query, the statistics are computed in parallel, and the response streams one JSON object per
+   * line (NDJSON) as the computations complete: first one per requested ID without a note, then
+   * one per note in completion order, and finally the merged total if it was asked for.
+   *
+   * @param request the IDs of the notes and whether to add a merged total
+   * @return ResponseEntity streaming the statistics as newline delimited JSON
+   * @throws IllegalArgumentException if more IDs than the configured maximum are requested
+   * @throws org.springframework.web.bind.MethodArgumentNotValidException if no IDs are given
+   */
+  @AdmissionClass(EndpointClass.STATS)
+  @PostMapping("/stats/batch")
+  public ResponseEntity<StreamingResponseBody> calculateStatsBatch(
+      @Valid @RequestBody NoteStatsBatchRequest request) {
+    Map<String, Note> notes = noteService.getNotesByIds(request.getIds(), TEXT_PROJECTION);
+    List<String> missing = request.getIds().stream()
+        .map(NoteService::normalizeId)
+        .distinct()
+        .filter(id -> !notes.containsKey(id))
+        .toList();
+    ObjectMapper lineMapper = jsonConverter.getObjectMapper();
+
+    StreamingResponseBody body = out -> {
+      for (String id : missing) {
+        writeLine(out, lineMapper, NoteStatsBatchItem.builder().id(id).missing(true).build());
+      }
+      Map<String, Long> total = noteService.calculateStatsBatch(notes.values(),
+          request.isTotal(), (id, stats) -> writeLine(out, lineMapper,
+              NoteStatsBatchItem.builder().id(id).stats(stats).build()));
+      if (total != null) {
+        writeLine(out, lineMapper, NoteStatsBatchItem.builder().total(total).build());
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
   /**
    * Updates an existing note with new information.
    *
@@ -143,6 +429,54 @@ public class NoteController {
     return ResponseEntity.ok(noteService.updateNote(id, request));
   }
 
+  /**
+   * Applies a JSON Merge Patch to a note: title, text and tags present in the patch replace the
+   * stored ones, and a null tags member removes all tags. Patches that leave the text alone are
+   * applied without reading or writing it.
+   *
+   * @param id    the unique identifier of the note to patch
+   * @param patch the merge patch with any of title, text and tags
+   * @return ResponseEntity containing the ID, the modification time and the patched fields
+   * @throws NoteNotFoundException                                        if no note exists with the
+   *                                                                      given ID
+   * @throws org.springframework.web.bind.MethodArgumentNotValidException if the patch empties or
+   *                                                                      removes the title or text
+   */
+  @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE,
+      MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<Note> patchNote(@PathVariable String id,
+      @Valid @RequestBody NotePatchRequest patch) {
+    return ResponseEntity.ok(noteService.patchNote(id, patch));
+  }
+
+  /**
+   * Adds a tag to a note without reading or writing its text. Adding a tag the note already carries
+   * leaves its tags unchanged.
+   *
+   * @param id  the unique identifier of the note
+   * @param tag the tag to add
+   * @return ResponseEntity containing the ID, the modification time and the tags of the note
+   * @throws NoteNotFoundException if no note exists with the given ID
+   */
+  @PutMapping("/{id}/tags/{tag}")
+  public ResponseEntity<Note> addTag(@PathVariable String id, @PathVariable Tag tag) {
+    return ResponseEntity.ok(noteService.addTag(id, tag));
+  }
+
+  /**
+   * Removes a tag from a note without reading or writing its text. Removing a tag the note does not
+   * carry leaves its tags unchanged.
+   *
+   * @param id  the unique identifier of the note
+   * @param tag the tag to remove
+   * @return ResponseEntity containing the ID, the modification time and the tags of the note
+   * @throws NoteNotFoundException if no note exists with the given ID
+   */
+  @DeleteMapping("/{id}/tags/{tag}")
+  public ResponseEntity<Note> removeTag(@PathVariable String id, @PathVariable Tag tag) {
+    return ResponseEntity.ok(noteService.removeTag(id, tag));
+  }
+
   /**
    * Deletes a note by its unique identifier.
    *
@@ -155,4 +489,65 @@ public class NoteController {
     noteService.deleteNote(id);
     return ResponseEntity.noContent().build();
   }
+
+  private ResponseEntity<List<NoteResponse>> listResponse(NoteListRequest request,
+      NoteFilter filter, CacheControl cacheControl) {
+    List<Note> notes = noteService.getNotes(filter, pageable(request),
+        NoteProjection.forList(request.getFields()));
+
+    // The body depends on the negotiated format and encoding, so shared caches must key on both.
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .cacheControl(cacheControl)
+        .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    if (!notes.isEmpty() && notes.size() == request.getSize()) {
+      NoteCursor.after(notes.get(notes.size() - 1))
+          .ifPresent(cursor -> response.header(NEXT_CURSOR_HEADER, cursor.encode()));
+    }
+    return response.body(mapper.apply(notes));
+  }
+
+  private static void writeLine(OutputStream out, ObjectMapper lineMapper, Object item) {
+    try {
+      out.write(lineMapper.writeValueAsBytes(item));
+      out.write('\n');
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private AbstractJackson2HttpMessageConverter streamingConverter(String accept)
+      throws HttpMediaTypeNotAcceptableException {
+    List<AbstractJackson2HttpMessageConverter> converters =
+        List.of(jsonConverter, cborConverter, smileConverter);
+    List<MediaType> acceptedTypes = accept == null
+        ? List.of(MediaType.ALL)
+        : new ArrayList<>(MediaType.parseMediaTypes(accept));
+    acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+    for (MediaType acceptedType : acceptedTypes) {
+      for (AbstractJackson2HttpMessageConverter converter : converters) {
+        if (acceptedType.getQualityValue() > 0 && converter.getSupportedMediaTypes().stream()
+            .anyMatch(acceptedType::isCompatibleWith)) {
+          return converter;
+        }
+      }
+    }
+    throw new HttpMediaTypeNotAcceptableException(converters.stream()
+        .map(converter -> converter.getSupportedMediaTypes().get(0))
+        .toList());
+  }
+
+  private static Pageable pageable(NoteListRequest request) {
+    return PageRequest.of(request.getPage(), request.getSize(),
+        Sort.by(Sort.Direction.fromString(request.getDirection()), NoteProjection.CREATED_DATE));
+  }
+
+  private static NoteFilter.NoteFilterBuilder filter(NoteListRequest request) {
+    return NoteFilter.builder()
+        .createdFrom(request.getFrom())
+        .createdTo(request.getTo())
+        .after(request.getAfter() != null ? NoteCursor.decode(request.getAfter()) : null)
+        .includeArchived(request.isIncludeArchived());
+  }
 }
@@ -0,0 +1,69 @@
+package com.antond.dto.request;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query parameters shared by the list endpoints, controlling pagination, sort direction, date
+ * range, field selection and whether archived notes are included. Notes are always ordered by
+ * creation date.
+ */
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class NoteListRequest {
+
+  /**
+   * The page number to retrieve, zero-based.
+   */
+  @Builder.Default
+  private int page = 0;
+
+  /**
+   * The number of notes per page.
+   */
+  @Builder.Default
+  private int size = 10;
+
+  /**
+   * The sort direction of the creation date, {@code desc} (newest first) or {@code asc}.
+   */
+  @Builder.Default
+  private String direction = "desc";
+
+  /**
+   * Only notes created at or after this time are returned, if set.
+   */
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime from;
+
+  /**
+   * Only notes created before this time are returned, if set.
+   */
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime to;
+
+  /**
+   * Cursor returned by a previous page; if set, the page starts right after the last note of that
+   * page instead of skipping over all previous pages.
+   */
+  private String after;
+
+  /**
+   * The fields to return, any of id, title, createdDate and tags; defaults to id, title and
+   * createdDate.
+   */
+  private List<String> fields;
+
+  /**
+   * Whether archived notes are included.
+   */
+  @Builder.Default
+  private boolean includeArchived = false;
+}
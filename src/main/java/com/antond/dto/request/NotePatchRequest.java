@@ -0,0 +1,85 @@
+package com.antond.dto.request;
+
+import com.antond.constants.NoteFields;
+import com.antond.constants.Tag;
+import com.antond.validation.NotBlankIfPresent;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a JSON Merge Patch (RFC 7396) of a note. Members present in the patch replace the
+ * stored fields and absent members leave them untouched; a null {@code tags} member removes all
+ * tags. Title and text are mandatory and cannot be removed. Jackson only calls the setters of
+ * members present in the document, which is how the patch tells absent members from null ones.
+ */
+@Getter
+@NoArgsConstructor
+public class NotePatchRequest {
+
+  @NotBlankIfPresent(message = "Title cannot be empty if provided")
+  private String title;
+
+  @NotBlankIfPresent(message = "Text content cannot be empty if provided")
+  private String text;
+
+  private List<Tag> tags;
+
+  @JsonIgnore
+  private final Set<String> fields = new LinkedHashSet<>();
+
+  public void setTitle(String title) {
+    this.title = title;
+    fields.add(NoteFields.TITLE);
+  }
+
+  public void setText(String text) {
+    this.text = text;
+    fields.add(NoteFields.TEXT);
+  }
+
+  public void setTags(List<Tag> tags) {
+    this.tags = tags;
+    fields.add(NoteFields.TAGS);
+  }
+
+  /**
+   * Returns the names of the fields present in the patch, as stored in the note documents.
+   *
+   * @return the patched fields, in the order they appeared
+   */
+  public Set<String> getFields() {
+    return Collections.unmodifiableSet(fields);
+  }
+
+  /**
+   * Rejects members that do not name a patchable field, instead of silently ignoring them.
+   *
+   * @param name  the name of the member
+   * @param value the value of the member
+   * @throws IllegalArgumentException always
+   */
+  @JsonAnySetter
+  public void setUnsupported(String name, Object value) {
+    throw new IllegalArgumentException("Unsupported field '" + name
+        + "', patchable fields are title, text and tags");
+  }
+
+  @JsonIgnore
+  @AssertTrue(message = "Title cannot be removed")
+  public boolean isTitleKept() {
+    return !fields.contains(NoteFields.TITLE) || title != null;
+  }
+
+  @JsonIgnore
+  @AssertTrue(message = "Text content cannot be removed")
+  public boolean isTextKept() {
+    return !fields.contains(NoteFields.TEXT) || text != null;
+  }
+}
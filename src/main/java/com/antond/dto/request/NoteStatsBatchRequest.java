@@ -0,0 +1,27 @@
+package com.antond.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a request to calculate the word statistics of several notes at once.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NoteStatsBatchRequest {
+
+  @NotEmpty(message = "At least one ID is mandatory")
+  private List<String> ids;
+
+  /**
+   * Whether the word statistics of all found notes are merged into a total sent after the
+   * statistics of the single notes.
+   */
+  private boolean total;
+}
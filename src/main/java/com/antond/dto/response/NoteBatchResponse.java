@@ -0,0 +1,21 @@
+package com.antond.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the result of reading several notes by their IDs at once. Found notes are listed in
+ * the order their IDs were requested, and the IDs without a note are reported separately.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NoteBatchResponse {
+
+  private List<NoteResponse> notes;
+  private List<String> missing;
+}
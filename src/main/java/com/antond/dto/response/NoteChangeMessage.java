@@ -0,0 +1,27 @@
+package com.antond.dto.response;
+
+import com.antond.constants.Tag;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a note change pushed to subscribers of the event feed. Deleted notes carry their ID
+ * only.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NoteChangeMessage {
+
+  private String id;
+  private String title;
+  private LocalDateTime createdDate;
+  private List<Tag> tags;
+}
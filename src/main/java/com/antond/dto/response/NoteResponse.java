@@ -1,6 +1,9 @@
 package com.antond.dto.response;
 
+import com.antond.constants.Tag;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,15 +12,18 @@ import lombok.NoArgsConstructor;
 /**
  * Represents a summary of a note used in list views and filtering operations. This response DTO
  * contains basic note information for displaying in lists, allowing users to browse and select
- * notes before viewing full details.
+ * notes before viewing full details. Fields that were not requested are left null and omitted
+ * from the serialized response.
  */
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class NoteResponse {
 
   private String id;
   private String title;
   private LocalDateTime createdDate;
+  private List<Tag> tags;
 }
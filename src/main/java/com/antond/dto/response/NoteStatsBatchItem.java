@@ -0,0 +1,26 @@
+package com.antond.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents one line of a streamed batch statistics response: the word statistics of a note, a
+ * requested ID without a note, or the merged total of all notes. Only the fields of the respective
+ * kind are set; the others are omitted from the serialized line.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NoteStatsBatchItem {
+
+  private String id;
+  private Map<String, Long> stats;
+  private Boolean missing;
+  private Map<String, Long> total;
+}
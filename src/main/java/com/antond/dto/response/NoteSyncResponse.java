@@ -0,0 +1,35 @@
+package com.antond.dto.response;
+
+import com.antond.entity.Note;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents one batch of changes returned to a syncing client: the notes created or updated and
+ * the IDs of the notes deleted since its previous sync, together with the token to pass to the next
+ * sync.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NoteSyncResponse {
+
+  private List<Note> notes;
+  private List<String> deleted;
+  private String nextToken;
+
+  /**
+   * Whether more changes are waiting; if so, the client should sync again right away.
+   */
+  private boolean hasMore;
+
+  /**
+   * Whether the token was too old to continue from, in which case this batch starts from scratch
+   * and the client has to drop the notes it has not received again.
+   */
+  private boolean reset;
+}
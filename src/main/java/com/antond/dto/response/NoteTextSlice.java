@@ -0,0 +1,21 @@
+package com.antond.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a contiguous part of a note's text. Offsets and lengths are counted in Unicode code
+ * points, matching the semantics of MongoDB's {@code $substrCP} and {@code $strLenCP} operators.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NoteTextSlice {
+
+  private String text;
+  private int offset;
+  private int totalLength;
+}
@@ -1,6 +1,7 @@
 package com.antond.entity;
 
 import com.antond.constants.Tag;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -13,13 +14,15 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * Represents a note entity stored in the database. This is the main domain object that contains all
- * note data including content, metadata, and  tags.
+ * note data including content, metadata, and  tags. Fields left out by a projection are null and
+ * omitted from the serialized response.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "notes")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Note {
 
   @Id
@@ -33,4 +36,10 @@ public class Note {
   private LocalDateTime createdDate = LocalDateTime.now();
 
   private List<Tag> tags;
+
+  /**
+   * Time of the last write to the note, used to find the notes that changed since a sync.
+   */
+  @Builder.Default
+  private LocalDateTime lastModified = LocalDateTime.now();
 }
@@ -0,0 +1,50 @@
+package com.antond.entity;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Precomputed word statistics of a note, kept next to the note so that they can be adjusted
+ * incrementally when the text is edited instead of being rebuilt from scratch. The text is
+ * described by the hashes of its chunks; the digest over these hashes tells whether the statistics
+ * still match the current text.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "note_word_stats")
+public class NoteWordStats {
+
+  /**
+   * The identifier of the note the statistics belong to.
+   */
+  @Id
+  private String id;
+
+  private String digest;
+
+  /**
+   * The content hashes of the chunks of the text, in text order.
+   */
+  private List<String> chunks;
+
+  /**
+   * The lengths of the chunks of the text in UTF-16 code units, in text order, so that the chunks
+   * an edit removed can be cut out of the previous text without splitting it again. Missing for
+   * statistics stored before the lengths were recorded.
+   */
+  private List<Integer> chunkLengths;
+
+  /**
+   * The number of occurrences of every word of the text. Words whose count dropped to zero
+   * through edits may remain with a zero count.
+   */
+  private Map<String, Long> totals;
+}
@@ -0,0 +1,234 @@
+package com.antond.event;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.NoteFields;
+import com.antond.entity.Note;
+import com.antond.repository.NoteRepositoryCustom;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Follows the change stream of the notes collection and republishes every change as a
+ * {@link NoteChangedEvent}, so that local caches also see the writes of other instances. After a
+ * disconnect the stream is resumed from the last token of the cursor, which the driver advances
+ * even while no change arrives. If there is no token, or it can no longer be resumed because the
+ * oplog has rolled over or the collection was dropped, a new stream is opened and a
+ * {@link NoteChangesLostEvent} is published so that caches are cleared instead of staying stale.
+ * The same event is published for a change that cannot be handled, after which the stream goes on.
+ *
+ * <p>Change streams require a replica set, so the listener only runs when
+ * {@code notebook.change-stream.enabled} is set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteChangeStreamListener {
+
+  /**
+   * Server errors signalling that a change stream cannot be resumed from its token:
+   * InvalidResumeToken, ChangeStreamFatalError and ChangeStreamHistoryLost.
+   */
+  private static final Set<Integer> NON_RESUMABLE_ERRORS = Set.of(260, 280, 286);
+
+  private static final List<OperationType> NOTE_CHANGES = List.of(OperationType.INSERT,
+      OperationType.UPDATE, OperationType.REPLACE, OperationType.DELETE,
+      OperationType.INVALIDATE);
+
+  private final MongoTemplate mongoTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final NotebookProperties properties;
+
+  private volatile boolean running;
+  private volatile boolean watching;
+  private Thread thread;
+  private BsonDocument resumeToken;
+
+  /**
+   * Starts following the change stream once the application is ready, if enabled.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start() {
+    if (!properties.getChangeStream().isEnabled() || running) {
+      return;
+    }
+    running = true;
+    thread = Thread.ofPlatform().daemon().name("note-change-stream").start(this::run);
+  }
+
+  /**
+   * Stops following the change stream and waits briefly for the listener thread to finish.
+   */
+  @PreDestroy
+  public void stop() {
+    Thread listenerThread;
+    synchronized (this) {
+      running = false;
+      listenerThread = thread;
+    }
+    if (listenerThread != null) {
+      try {
+        listenerThread.join(properties.getChangeStream().getMaxAwaitMillis() * 2);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Checks whether a change stream cursor is currently open, meaning that every change written from
+   * now on is going to be observed.
+   *
+   * @return true if the listener is watching the collection
+   */
+  public boolean isWatching() {
+    return watching;
+  }
+
+  private void run() {
+    boolean lost = false;
+    while (running) {
+      try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor()) {
+        watching = true;
+        if (lost) {
+          eventPublisher.publishEvent(new NoteChangesLostEvent(
+              "Change stream could not be resumed"));
+          lost = false;
+        }
+        keepResumeToken(cursor);
+        while (running) {
+          ChangeStreamDocument<Document> change = cursor.tryNext();
+          if (change != null && change.getOperationType() == OperationType.INVALIDATE) {
+            resumeToken = null;
+            lost = true;
+            break;
+          }
+          if (change != null) {
+            handle(change);
+          }
+          // The driver keeps the token current even while no change arrives. It is only taken once
+          // a change has been handled, so that a change whose lookups failed is delivered again.
+          keepResumeToken(cursor);
+        }
+      } catch (MongoCommandException e) {
+        if (NON_RESUMABLE_ERRORS.contains(e.getErrorCode())) {
+          log.warn("Change stream cannot be resumed, restarting it: {}", e.getErrorMessage());
+          resumeToken = null;
+          lost = true;
+        } else {
+          log.warn("Change stream failed, resuming it", e);
+          lost = resumeToken == null;
+          pause();
+        }
+      } catch (MongoException e) {
+        log.warn("Change stream disconnected, resuming it", e);
+        lost = resumeToken == null;
+        pause();
+      } finally {
+        watching = false;
+      }
+    }
+  }
+
+  private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+    List<Bson> pipeline = List.of(
+        Aggregates.match(Filters.in("operationType",
+            NOTE_CHANGES.stream().map(OperationType::getValue).toList())),
+        Aggregates.project(Projections.exclude("fullDocument." + NoteFields.TEXT,
+            "fullDocument." + NoteFields.COMPRESSED_TEXT)));
+
+    ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(
+            mongoTemplate.getCollectionName(Note.class))
+        .watch(pipeline)
+        .fullDocument(FullDocument.UPDATE_LOOKUP)
+        .maxAwaitTime(properties.getChangeStream().getMaxAwaitMillis(), TimeUnit.MILLISECONDS);
+    if (resumeToken != null) {
+      stream = stream.resumeAfter(resumeToken);
+    }
+    return stream.cursor();
+  }
+
+  /**
+   * Publishes the event for a change. Failures of the database lookups needed to build the event
+   * are left to the caller, so that the stream is resumed from before the change. Any other
+   * failure, in mapping the document or in a listener, is logged and reported as lost changes, as
+   * retrying it would not help.
+   */
+  private void handle(ChangeStreamDocument<Document> change) {
+    try {
+      NoteChangedEvent event = toEvent(change);
+      if (event != null) {
+        eventPublisher.publishEvent(event);
+      }
+    } catch (MongoException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      log.error("Failed to handle {} change of the notes collection", change.getOperationType(),
+          e);
+      eventPublisher.publishEvent(new NoteChangesLostEvent("A change could not be handled"));
+    }
+  }
+
+  private NoteChangedEvent toEvent(ChangeStreamDocument<Document> change) {
+    if (change.getDocumentKey() == null
+        || !(change.getDocumentKey().get(NoteFields.ID).isObjectId())) {
+      return null;
+    }
+
+    String id = change.getDocumentKey().getObjectId(NoteFields.ID).getValue().toHexString();
+    Document document = change.getFullDocument();
+    if (change.getOperationType() == OperationType.DELETE || document == null) {
+      // The archiver copies a note to the archive before removing it, so a removed note that is
+      // still in the archive was moved rather than deleted.
+      boolean archived = mongoTemplate.exists(
+          new Query(Criteria.where(NoteFields.ID).is(change.getDocumentKey().get(NoteFields.ID)
+              .asObjectId().getValue())), NoteRepositoryCustom.ARCHIVE_COLLECTION);
+      return new NoteChangedEvent(
+          archived ? NoteChangedEvent.Type.ARCHIVED : NoteChangedEvent.Type.DELETED, id, null,
+          NoteChangedEvent.Origin.CHANGE_STREAM);
+    }
+    Note note = mongoTemplate.getConverter().read(Note.class, document);
+    NoteChangedEvent.Type type = change.getOperationType() == OperationType.INSERT
+        ? NoteChangedEvent.Type.CREATED : NoteChangedEvent.Type.UPDATED;
+    return new NoteChangedEvent(type, id, note, NoteChangedEvent.Origin.CHANGE_STREAM);
+  }
+
+  private void keepResumeToken(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+    BsonDocument token = cursor.getResumeToken();
+    if (token != null) {
+      resumeToken = token;
+    }
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(properties.getChangeStream().getRetryDelayMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.antond.event;
+
+import com.antond.entity.Note;
+
+/**
+ * Application event published after a note was written. Components holding derived state, such as
+ * caches, listen to it to stay consistent with the database without querying it. Events describe
+ * either a write of this instance or a change observed on the database change stream, which
+ * includes the writes of other instances; listeners must therefore tolerate receiving the same
+ * change twice.
+ *
+ * @param type   the kind of change
+ * @param noteId the identifier of the changed note
+ * @param note   the note as written, or null if it was deleted or archived; notes received from
+ *               the change stream carry no text
+ * @param origin where the change was observed
+ */
+public record NoteChangedEvent(Type type, String noteId, Note note, Origin origin) {
+
+  /**
+   * Kinds of changes a note can go through.
+   */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /**
+     * The note was moved from the hot collection to the archive; it is still readable by ID.
+     */
+    ARCHIVED
+  }
+
+  /**
+   * Sources of change events.
+   */
+  public enum Origin {
+    /**
+     * A write performed by this instance.
+     */
+    LOCAL,
+    /**
+     * A change read from the database change stream, performed by any instance.
+     */
+    CHANGE_STREAM
+  }
+
+  public static NoteChangedEvent created(Note note) {
+    return new NoteChangedEvent(Type.CREATED, note.getId(), note, Origin.LOCAL);
+  }
+
+  public static NoteChangedEvent updated(Note note) {
+    return new NoteChangedEvent(Type.UPDATED, note.getId(), note, Origin.LOCAL);
+  }
+
+  public static NoteChangedEvent deleted(String noteId) {
+    return new NoteChangedEvent(Type.DELETED, noteId, null, Origin.LOCAL);
+  }
+
+  public static NoteChangedEvent archived(String noteId) {
+    return new NoteChangedEvent(Type.ARCHIVED, noteId, null, Origin.LOCAL);
+  }
+}
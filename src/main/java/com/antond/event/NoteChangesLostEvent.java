@@ -0,0 +1,12 @@
+package com.antond.event;
+
+/**
+ * Application event published when changes to notes may have been missed, for example because the
+ * change stream could not be resumed. Components holding derived state must discard it, as it can
+ * no longer be kept consistent incrementally.
+ *
+ * @param reason a description of why changes may have been missed
+ */
+public record NoteChangesLostEvent(String reason) {
+
+}
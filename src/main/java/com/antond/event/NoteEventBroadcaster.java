@@ -0,0 +1,239 @@
+package com.antond.event;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.Tag;
+import com.antond.dto.response.NoteChangeMessage;
+import com.antond.entity.Note;
+import com.antond.exception.ServiceOverloadedException;
+import com.antond.limiter.EndpointClass;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes note changes to subscribers of the server-sent events feed. Changes are taken from the
+ * change stream when it is enabled, so that subscribers see the writes of every instance exactly
+ * once, and from the local write paths otherwise.
+ *
+ * <p>Idle subscribers hold no thread: every subscriber has a bounded queue, and a virtual thread
+ * only runs while there is something to send to it. A subscriber whose queue overflows, because
+ * it reads slower than notes change, loses the queued changes and receives an {@code overflow}
+ * event instead, telling it to reload; nothing is buffered beyond the queue capacity. Every
+ * subscriber receives the same event when the change stream reports that changes were lost.
+ */
+@Component
+public class NoteEventBroadcaster {
+
+  /**
+   * Name of the event sent to a subscriber that missed changes.
+   */
+  public static final String OVERFLOW_EVENT = "overflow";
+
+  private static final Object HEARTBEAT = new Object();
+  private static final Object OVERFLOW = new Object();
+
+  private final NotebookProperties properties;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ExecutorService fanOut = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().daemon().name("note-events").factory());
+  private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * Creates the broadcaster.
+   *
+   * @param properties the application properties holding the event feed settings
+   */
+  public NoteEventBroadcaster(NotebookProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Registers a new subscriber.
+   *
+   * @param tags the tags a created or updated note must all carry to be sent, or empty for all
+   *             notes; deletions are always sent, as the tags of deleted notes are unknown
+   * @return the emitter streaming the changes to the subscriber
+   * @throws ServiceOverloadedException if the maximum number of subscribers is reached
+   */
+  public SseEmitter subscribe(Collection<Tag> tags) {
+    NotebookProperties.Events settings = properties.getEvents();
+    if (subscribers.size() >= settings.getMaxSubscribers()) {
+      throw new ServiceOverloadedException(EndpointClass.SUBSCRIPTION,
+          properties.getAdmission().getRetryAfterSeconds());
+    }
+
+    SseEmitter emitter = new SseEmitter(settings.getTimeout().toMillis());
+    Subscriber subscriber = new Subscriber(emitter,
+        tags.isEmpty() ? EnumSet.noneOf(Tag.class) : EnumSet.copyOf(tags),
+        settings.getQueueCapacity());
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    // Completing on timeout ends the response cleanly instead of leaving it to the error handling.
+    emitter.onTimeout(() -> {
+      subscribers.remove(subscriber);
+      emitter.complete();
+    });
+    emitter.onError(error -> subscribers.remove(subscriber));
+    subscribers.add(subscriber);
+    return emitter;
+  }
+
+  /**
+   * Returns the number of open subscriptions.
+   *
+   * @return the number of subscribers
+   */
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  /**
+   * Queues a note change for the subscribers it concerns. Only changes of the configured source
+   * are forwarded, and archiving is not reported, as archived notes remain readable.
+   *
+   * @param event the change of a note
+   */
+  @EventListener
+  public void onNoteChanged(NoteChangedEvent event) {
+    NoteChangedEvent.Origin source = properties.getChangeStream().isEnabled()
+        ? NoteChangedEvent.Origin.CHANGE_STREAM
+        : NoteChangedEvent.Origin.LOCAL;
+    if (event.origin() != source || event.type() == NoteChangedEvent.Type.ARCHIVED
+        || subscribers.isEmpty()) {
+      return;
+    }
+    fanOut.execute(() -> {
+      Message message = Message.of(event);
+      for (Subscriber subscriber : subscribers) {
+        if (subscriber.accepts(event.note())) {
+          subscriber.offer(message);
+        }
+      }
+    });
+  }
+
+  /**
+   * Tells every subscriber to reload when the change stream may have skipped changes, since they
+   * would otherwise never learn about them. The overflow event is queued behind the changes
+   * already fanned out.
+   *
+   * @param event the notice that changes may have been missed
+   */
+  @EventListener
+  public void onNoteChangesLost(NoteChangesLostEvent event) {
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    fanOut.execute(() -> subscribers.forEach(subscriber -> subscriber.offer(OVERFLOW)));
+  }
+
+  /**
+   * Sends a comment to every subscriber, which keeps idle connections from being closed by
+   * proxies and detects subscribers that went away.
+   */
+  @Scheduled(initialDelayString = "${notebook.events.heartbeat-interval:PT30S}",
+      fixedDelayString = "${notebook.events.heartbeat-interval:PT30S}")
+  public void sendHeartbeats() {
+    subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+  }
+
+  @PreDestroy
+  public void stop() {
+    fanOut.shutdownNow();
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    senders.shutdownNow();
+  }
+
+  private record Message(String name, NoteChangeMessage data) {
+
+    static Message of(NoteChangedEvent event) {
+      Note note = event.note();
+      NoteChangeMessage data = note == null
+          ? NoteChangeMessage.builder().id(event.noteId()).build()
+          : NoteChangeMessage.builder()
+              .id(event.noteId())
+              .title(note.getTitle())
+              .createdDate(note.getCreatedDate())
+              .tags(note.getTags())
+              .build();
+      return new Message(event.type().name().toLowerCase(Locale.ROOT), data);
+    }
+  }
+
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final Set<Tag> tags;
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean overflowed;
+
+    private Subscriber(SseEmitter emitter, Set<Tag> tags, int capacity) {
+      this.emitter = emitter;
+      this.tags = tags;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    private boolean accepts(Note note) {
+      return tags.isEmpty() || note == null
+          || (note.getTags() != null && note.getTags().containsAll(tags));
+    }
+
+    private void offer(Object item) {
+      if (!queue.offer(item) && item != HEARTBEAT) {
+        queue.clear();
+        overflowed = true;
+      }
+      if (draining.compareAndSet(false, true)) {
+        senders.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        while (true) {
+          Object item = overflowed ? OVERFLOW : queue.poll();
+          if (item == null) {
+            draining.set(false);
+            // Items offered after the last poll but before the flag was cleared are picked up here.
+            if ((queue.isEmpty() && !overflowed) || !draining.compareAndSet(false, true)) {
+              return;
+            }
+            continue;
+          }
+          send(item);
+        }
+      } catch (IOException | IllegalStateException e) {
+        subscribers.remove(this);
+        emitter.completeWithError(e);
+      }
+    }
+
+    private void send(Object item) throws IOException {
+      if (item == OVERFLOW) {
+        overflowed = false;
+        emitter.send(SseEmitter.event().name(OVERFLOW_EVENT)
+            .data("Changes were dropped, reload the notes"));
+      } else if (item == HEARTBEAT) {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+      } else {
+        Message message = (Message) item;
+        emitter.send(SseEmitter.event().name(message.name())
+            .data(message.data(), MediaType.APPLICATION_JSON));
+      }
+    }
+  }
+}
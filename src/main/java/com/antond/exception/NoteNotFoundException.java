@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * Exception thrown when a requested note cannot be found in the system. This exception is typically
  * thrown by service methods when operations are attempted on notes that don't exist or have been
  * deleted.
+ * Unknown IDs are requested often enough by stale clients that the exception is built without a
+ * stack trace or suppressed exceptions, which makes it cheap to throw.
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class NoteNotFoundException extends RuntimeException {
@@ -18,6 +20,6 @@ public class NoteNotFoundException extends RuntimeException {
    * @param id the unique identifier of the note that was not found
    */
   public NoteNotFoundException(String id) {
-    super(String.format("Note with id %s not found", id));
+    super(String.format("Note with id %s not found", id), null, false, false);
   }
 }
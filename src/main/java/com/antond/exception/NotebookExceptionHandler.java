@@ -4,6 +4,7 @@ import com.antond.dto.response.ErrorResponse;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -88,6 +89,86 @@ public class NotebookExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
   }
 
+  /**
+   * Handles texts whose vocabulary exceeds the configured cap of the statistics endpoint.
+   *
+   * @param ex the VocabularyLimitExceededException describing the exceeded limit
+   * @return ResponseEntity containing ErrorResponse with the vocabulary limit details
+   */
+  @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+  @ExceptionHandler(VocabularyLimitExceededException.class)
+  public ResponseEntity<ErrorResponse> handleVocabularyLimitExceeded(
+      VocabularyLimitExceededException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+        "Vocabulary Limit Exceeded",
+        ex.getMessage(),
+        HttpStatus.CONTENT_TOO_LARGE,
+        LocalDateTime.now()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONTENT_TOO_LARGE);
+  }
+
+  /**
+   * Handles texts containing a word longer than the configured cap of the statistics endpoint.
+   *
+   * @param ex the WordLengthExceededException describing the exceeded limit
+   * @return ResponseEntity containing ErrorResponse with the word length limit details
+   */
+  @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+  @ExceptionHandler(WordLengthExceededException.class)
+  public ResponseEntity<ErrorResponse> handleWordLengthExceeded(WordLengthExceededException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+        "Word Length Exceeded",
+        ex.getMessage(),
+        HttpStatus.CONTENT_TOO_LARGE,
+        LocalDateTime.now()
+    );
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONTENT_TOO_LARGE);
+  }
+
+  /**
+   * Handles requests shed by admission control. The response tells the client when to retry, so
+   * that rejected requests fail fast instead of piling up behind an overloaded endpoint.
+   *
+   * @param ex the ServiceOverloadedException describing the overloaded endpoint class
+   * @return ResponseEntity containing ErrorResponse with a Retry-After header
+   */
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleServiceOverloaded(ServiceOverloadedException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+        "Service Overloaded",
+        ex.getMessage(),
+        HttpStatus.SERVICE_UNAVAILABLE,
+        LocalDateTime.now()
+    );
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorResponse);
+  }
+
+  /**
+   * Handles text range requests starting beyond the end of the text. As for byte ranges, the
+   * response carries a {@code Content-Range} header with the total length.
+   *
+   * @param ex the RangeNotSatisfiableException carrying the length of the text
+   * @return ResponseEntity containing ErrorResponse with an unsatisfied Content-Range header
+   */
+  @ResponseStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+  @ExceptionHandler(RangeNotSatisfiableException.class)
+  public ResponseEntity<ErrorResponse> handleRangeNotSatisfiable(
+      RangeNotSatisfiableException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(
+        "Range Not Satisfiable",
+        ex.getMessage(),
+        HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE,
+        LocalDateTime.now()
+    );
+    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+        .header(HttpHeaders.CONTENT_RANGE, "chars */" + ex.getTotalLength())
+        .body(errorResponse);
+  }
+
   /**
    * Handles type mismatch exceptions for method parameters. This occurs when a request parameter
    * cannot be converted to the required type (e.g., passing a string where a number is expected).
@@ -0,0 +1,29 @@
+package com.antond.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a requested text range starts beyond the end of a note's text. The total
+ * length is kept so that the response can tell the client which ranges exist. Like the other
+ * client errors it does not capture a stack trace.
+ */
+@Getter
+@ResponseStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+public class RangeNotSatisfiableException extends RuntimeException {
+
+  private final int totalLength;
+
+  /**
+   * Constructs a new RangeNotSatisfiableException for a text of the given length.
+   *
+   * @param offset      the requested offset
+   * @param totalLength the length of the text in code points
+   */
+  public RangeNotSatisfiableException(int offset, int totalLength) {
+    super(String.format("Offset %d exceeds the text length of %d", offset, totalLength), null,
+        false, false);
+    this.totalLength = totalLength;
+  }
+}
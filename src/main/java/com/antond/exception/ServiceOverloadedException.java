@@ -0,0 +1,30 @@
+package com.antond.exception;
+
+import com.antond.limiter.EndpointClass;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request is shed by admission control because its endpoint class has
+ * reached its concurrency limit. It is thrown on the hot path of an overloaded server and therefore
+ * does not capture a stack trace.
+ */
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+
+  private final int retryAfterSeconds;
+
+  /**
+   * Constructs a new ServiceOverloadedException for the given endpoint class.
+   *
+   * @param endpointClass     the endpoint class whose limit was reached
+   * @param retryAfterSeconds the number of seconds clients should wait before retrying
+   */
+  public ServiceOverloadedException(EndpointClass endpointClass, int retryAfterSeconds) {
+    super(String.format("Too many concurrent %s requests, retry in %d seconds", endpointClass,
+        retryAfterSeconds), null, false, false);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
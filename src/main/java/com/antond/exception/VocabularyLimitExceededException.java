@@ -0,0 +1,23 @@
+package com.antond.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a text analyzed for word statistics contains more distinct words than the
+ * configured vocabulary cap allows. This protects the server from unbounded memory growth when
+ * large documents are streamed to the statistics endpoint.
+ */
+@ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+public class VocabularyLimitExceededException extends RuntimeException {
+
+  /**
+   * Constructs a new VocabularyLimitExceededException with a message that includes the limit that
+   * was exceeded.
+   *
+   * @param limit the maximum number of distinct words that was allowed
+   */
+  public VocabularyLimitExceededException(int limit) {
+    super(String.format("Text contains more than %d distinct words", limit));
+  }
+}
@@ -0,0 +1,23 @@
+package com.antond.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a text analyzed for word statistics contains a word longer than the
+ * configured cap allows. Together with the vocabulary cap it bounds the memory used while large
+ * documents are streamed to the statistics endpoint.
+ */
+@ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+public class WordLengthExceededException extends RuntimeException {
+
+  /**
+   * Constructs a new WordLengthExceededException with a message that includes the limit that was
+   * exceeded.
+   *
+   * @param limit the maximum number of characters a word was allowed to have
+   */
+  public WordLengthExceededException(int limit) {
+    super(String.format("Text contains a word longer than %d characters", limit));
+  }
+}
@@ -0,0 +1,70 @@
+package com.antond.jfr;
+
+import com.antond.entity.Note;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a note being created, read, updated or deleted. Its duration covers the
+ * whole service operation, so allocation samples taken on the same thread within it belong to that
+ * operation and note.
+ */
+@Name("com.antond.NoteOperation")
+@Label("Note Operation")
+@Category({"Notebook", "Notes"})
+@Description("A note was created, read, updated or deleted")
+@StackTrace(false)
+public class NoteOperationEvent extends Event {
+
+  /**
+   * Operations recorded by this event.
+   */
+  public enum Operation {
+    CREATE,
+    READ,
+    UPDATE,
+    DELETE
+  }
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Note ID")
+  String noteId;
+
+  @Label("Text Length")
+  @Description("Length of the note text in UTF-16 code units, -1 if it was not read")
+  long textLength;
+
+  /**
+   * Starts timing an operation.
+   *
+   * @param operation the operation about to be run
+   * @return the started event
+   */
+  public static NoteOperationEvent start(Operation operation) {
+    NoteOperationEvent event = new NoteOperationEvent();
+    event.begin();
+    event.operation = operation.name();
+    return event;
+  }
+
+  /**
+   * Completes the operation and commits the event if it is enabled and above its threshold.
+   *
+   * @param noteId the identifier of the note
+   * @param note   the note as created, read or updated, or null if there is none
+   */
+  public void finish(String noteId, Note note) {
+    end();
+    if (shouldCommit()) {
+      this.noteId = noteId;
+      this.textLength = note != null && note.getText() != null ? note.getText().length() : -1;
+      commit();
+    }
+  }
+}
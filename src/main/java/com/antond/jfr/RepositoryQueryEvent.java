@@ -0,0 +1,63 @@
+package com.antond.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a query of the custom note repository, covering the database round
+ * trips and the consumption of the results.
+ */
+@Name("com.antond.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Notebook", "Repository"})
+@Description("A note repository query was run")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+  @Label("Kind")
+  String kind;
+
+  @Label("Include Archived")
+  boolean includeArchived;
+
+  @Label("Page Size")
+  @Description("Maximum number of results requested, 1 for lookups by ID")
+  int pageSize;
+
+  @Label("Result Count")
+  long resultCount;
+
+  /**
+   * Starts timing a query.
+   *
+   * @param kind            the name of the repository method running the query
+   * @param pageSize        the maximum number of results requested
+   * @param includeArchived whether the archive collection is queried as well
+   * @return the started event
+   */
+  public static RepositoryQueryEvent start(String kind, int pageSize, boolean includeArchived) {
+    RepositoryQueryEvent event = new RepositoryQueryEvent();
+    event.begin();
+    event.kind = kind;
+    event.pageSize = pageSize;
+    event.includeArchived = includeArchived;
+    return event;
+  }
+
+  /**
+   * Completes the query and commits the event if it is enabled and above its threshold.
+   *
+   * @param resultCount the number of results returned
+   */
+  public void finish(long resultCount) {
+    end();
+    if (shouldCommit()) {
+      this.resultCount = resultCount;
+      commit();
+    }
+  }
+}
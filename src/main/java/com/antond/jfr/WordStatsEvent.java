@@ -0,0 +1,84 @@
+package com.antond.jfr;
+
+import java.util.Map;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a word statistics computation, whether it was served from the stored
+ * totals, computed from scratch, applied as a delta after an edit or run over an unsaved text.
+ */
+@Name("com.antond.WordStats")
+@Label("Word Statistics")
+@Category({"Notebook", "Statistics"})
+@Description("Word statistics of a text were computed")
+@StackTrace(false)
+public class WordStatsEvent extends Event {
+
+  /**
+   * How the statistics were obtained.
+   */
+  public enum Mode {
+    STORED,
+    COMPUTED,
+    DELTA,
+    AD_HOC
+  }
+
+  @Label("Mode")
+  String mode;
+
+  @Label("Note ID")
+  String noteId;
+
+  @Label("Text Length")
+  @Description("Length of the text in UTF-16 code units, -1 for streamed texts")
+  long textLength;
+
+  @Label("Distinct Words")
+  @Description("Number of distinct words in the result, or in the delta for edits")
+  long distinctWords;
+
+  /**
+   * Starts timing a computation.
+   *
+   * @param mode how the statistics are obtained
+   * @return the started event
+   */
+  public static WordStatsEvent start(Mode mode) {
+    WordStatsEvent event = new WordStatsEvent();
+    event.begin();
+    event.mode = mode.name();
+    return event;
+  }
+
+  /**
+   * Switches the mode of a computation that turned out to take another path than expected.
+   *
+   * @param mode how the statistics are obtained
+   */
+  public void setMode(Mode mode) {
+    this.mode = mode.name();
+  }
+
+  /**
+   * Completes the computation and commits the event if it is enabled and above its threshold.
+   *
+   * @param noteId     the identifier of the note, or null for texts that are not stored
+   * @param textLength the length of the text, -1 if unknown
+   * @param words      the resulting statistics
+   */
+  public void finish(String noteId, long textLength, Map<String, Long> words) {
+    end();
+    if (shouldCommit()) {
+      this.noteId = noteId;
+      this.textLength = textLength;
+      this.distinctWords = words.size();
+      commit();
+    }
+  }
+}
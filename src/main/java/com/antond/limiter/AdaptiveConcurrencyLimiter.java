@@ -0,0 +1,123 @@
+package com.antond.limiter;
+
+import com.antond.config.NotebookProperties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limiter whose limit adapts to observed latency using additive increase,
+ * multiplicative decrease (AIMD). Latency is judged against a baseline rather than a fixed target,
+ * because what is normal differs between endpoint classes and between small and huge notes: the
+ * baseline is a slowly moving average of the mean latency of past windows. Every completion while
+ * the limiter is at least half utilized raises the limit by {@code 1 / limit}, i.e. by about one
+ * per limit's worth of requests. A window whose mean latency exceeds the baseline by more than the
+ * tolerance shrinks the limit by the backoff ratio once, however many of its requests were slow.
+ * The limit always stays between the configured minimum and maximum.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double BASELINE_SMOOTHING = 0.1;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final long windowNanos;
+  private final double latencyTolerance;
+  private final double backoffRatio;
+  private final int minLimit;
+  private final int maxLimit;
+  private volatile double limit;
+
+  private long windowStartNanos;
+  private long windowLatencyNanos;
+  private int windowSamples;
+  private double baselineNanos;
+
+  /**
+   * Creates a limiter from the settings of one endpoint class.
+   *
+   * @param settings the limits, latency window and tolerance of the endpoint class
+   */
+  public AdaptiveConcurrencyLimiter(NotebookProperties.ConcurrencyLimit settings) {
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(settings.getWindowMillis());
+    this.latencyTolerance = settings.getLatencyTolerance();
+    this.backoffRatio = settings.getBackoffRatio();
+    this.minLimit = Math.max(1, settings.getMinLimit());
+    this.maxLimit = Math.max(this.minLimit, settings.getMaxLimit());
+    this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, settings.getInitialLimit()));
+  }
+
+  /**
+   * Tries to admit a request.
+   *
+   * @return true if the request was admitted and {@link #release(long)} must be called once it
+   *         completes, false if the limit is reached
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases an admitted request and adapts the limit to its latency.
+   *
+   * @param latencyNanos the time the request took, in nanoseconds
+   */
+  public void release(long latencyNanos) {
+    release(latencyNanos, System.nanoTime());
+  }
+
+  void release(long latencyNanos, long nowNanos) {
+    int current = inFlight.getAndDecrement();
+    synchronized (this) {
+      if (current * 2 >= limit) {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+      if (windowSamples == 0) {
+        windowStartNanos = nowNanos;
+      }
+      windowLatencyNanos += latencyNanos;
+      windowSamples++;
+      if (nowNanos - windowStartNanos >= windowNanos) {
+        closeWindow();
+      }
+    }
+  }
+
+  /**
+   * Returns the current limit.
+   *
+   * @return the number of requests admitted concurrently at the moment
+   */
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Returns the number of admitted requests that have not completed yet.
+   *
+   * @return the number of requests in flight
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private void closeWindow() {
+    double averageNanos = (double) windowLatencyNanos / windowSamples;
+    if (baselineNanos == 0) {
+      baselineNanos = averageNanos;
+    } else {
+      if (averageNanos > baselineNanos * latencyTolerance) {
+        limit = Math.max(minLimit, limit * backoffRatio);
+      }
+      baselineNanos += (averageNanos - baselineNanos) * BASELINE_SMOOTHING;
+    }
+    windowLatencyNanos = 0;
+    windowSamples = 0;
+  }
+}
@@ -0,0 +1,27 @@
+package com.antond.limiter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a controller method to an {@link EndpointClass} for admission control. Methods without
+ * this annotation are classified by HTTP method: GET requests count as
+ * {@link EndpointClass#CHEAP_READ}, everything else as {@link EndpointClass#WRITE}.
+ *
+ * @see AdmissionControlInterceptor
+ */
+@Documented
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionClass {
+
+  /**
+   * The endpoint class of the annotated handler method.
+   *
+   * @return the endpoint class
+   */
+  EndpointClass value();
+}
@@ -0,0 +1,101 @@
+package com.antond.limiter;
+
+import com.antond.config.NotebookProperties;
+import com.antond.exception.ServiceOverloadedException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admission control for the notes API. Every request is assigned an {@link EndpointClass} and must
+ * acquire a slot from that class's {@link AdaptiveConcurrencyLimiter} before it is handled. When no
+ * slot is free the request is rejected right away with a {@link ServiceOverloadedException}, which
+ * is turned into a 503 response with a {@code Retry-After} header, instead of queueing for a
+ * server thread. Asynchronous requests keep their slot until the async processing completes.
+ */
+@Component
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+  private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName()
+      + ".permit";
+
+  private final boolean enabled;
+  private final int retryAfterSeconds;
+  private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters =
+      new EnumMap<>(EndpointClass.class);
+
+  /**
+   * Creates the interceptor with one limiter per endpoint class.
+   *
+   * @param properties the application properties holding the admission control settings
+   */
+  public AdmissionControlInterceptor(NotebookProperties properties) {
+    NotebookProperties.Admission admission = properties.getAdmission();
+    this.enabled = admission.isEnabled();
+    this.retryAfterSeconds = admission.getRetryAfterSeconds();
+    limiters.put(EndpointClass.CHEAP_READ,
+        new AdaptiveConcurrencyLimiter(admission.getCheapRead()));
+    limiters.put(EndpointClass.LIST, new AdaptiveConcurrencyLimiter(admission.getList()));
+    limiters.put(EndpointClass.STATS, new AdaptiveConcurrencyLimiter(admission.getStats()));
+    limiters.put(EndpointClass.WRITE, new AdaptiveConcurrencyLimiter(admission.getWrite()));
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC
+        || !(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+
+    EndpointClass endpointClass = classify(request, handlerMethod);
+    AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+    if (limiter == null) {
+      return true;
+    }
+    if (!limiter.tryAcquire()) {
+      throw new ServiceOverloadedException(endpointClass, retryAfterSeconds);
+    }
+    request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+      request.removeAttribute(PERMIT_ATTRIBUTE);
+      permit.limiter().release(System.nanoTime() - permit.startNanos());
+    }
+  }
+
+  /**
+   * Returns the limiter of an endpoint class, e.g. to expose its current limit.
+   *
+   * @param endpointClass the endpoint class
+   * @return the limiter guarding the endpoint class, or null if the class has none
+   */
+  public AdaptiveConcurrencyLimiter getLimiter(EndpointClass endpointClass) {
+    return limiters.get(endpointClass);
+  }
+
+  private static EndpointClass classify(HttpServletRequest request, HandlerMethod handlerMethod) {
+    AdmissionClass admissionClass = handlerMethod.getMethodAnnotation(AdmissionClass.class);
+    if (admissionClass != null) {
+      return admissionClass.value();
+    }
+    return HttpMethod.GET.matches(request.getMethod())
+        ? EndpointClass.CHEAP_READ
+        : EndpointClass.WRITE;
+  }
+
+  private record Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+
+  }
+}
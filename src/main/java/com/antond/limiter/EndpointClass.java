@@ -0,0 +1,17 @@
+package com.antond.limiter;
+
+/**
+ * Groups endpoints by cost for admission control. Every class has its own adaptive concurrency
+ * limit, so expensive requests cannot take away the capacity reserved for cheap ones.
+ */
+public enum EndpointClass {
+  CHEAP_READ,
+  LIST,
+  STATS,
+  WRITE,
+  /**
+   * Long-lived subscriptions, which hold no server thread while idle and are bounded by their own
+   * subscriber limit rather than by a concurrency limiter.
+   */
+  SUBSCRIPTION
+}
@@ -0,0 +1,65 @@
+package com.antond.mapper;
+
+import com.antond.constants.NoteFields;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes raw note documents as JSON objects shaped like
+ * {@link com.antond.dto.response.NoteResponse}. Used by streaming list responses, where documents
+ * go from the database cursor straight to the response without creating entities or DTOs. Fields
+ * missing from the document are omitted, just like null fields of a NoteResponse.
+ */
+@Component
+public class NoteDocumentJsonWriter {
+
+  /**
+   * Writes a single note document as a JSON object.
+   *
+   * @param generator the generator to write to; its codec is used for the creation date so that
+   *                  the date format matches the regular responses
+   * @param document  the raw note document as read from the database
+   * @throws UncheckedIOException if writing to the generator fails
+   */
+  public void write(JsonGenerator generator, Document document) {
+    try {
+      generator.writeStartObject();
+
+      Object id = document.get(NoteFields.ID);
+      if (id != null) {
+        generator.writeStringField("id",
+            id instanceof ObjectId objectId ? objectId.toHexString() : id.toString());
+      }
+      String title = document.getString(NoteFields.TITLE);
+      if (title != null) {
+        generator.writeStringField(NoteFields.TITLE, title);
+      }
+      Date createdDate = document.getDate(NoteFields.CREATED_DATE);
+      if (createdDate != null) {
+        generator.writeFieldName(NoteFields.CREATED_DATE);
+        generator.writeObject(
+            LocalDateTime.ofInstant(createdDate.toInstant(), ZoneId.systemDefault()));
+      }
+      List<String> tags = document.getList(NoteFields.TAGS, String.class);
+      if (tags != null) {
+        generator.writeArrayFieldStart(NoteFields.TAGS);
+        for (String tag : tags) {
+          generator.writeString(tag);
+        }
+        generator.writeEndArray();
+      }
+
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
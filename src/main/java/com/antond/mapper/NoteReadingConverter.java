@@ -0,0 +1,65 @@
+package com.antond.mapper;
+
+import com.antond.constants.NoteFields;
+import com.antond.constants.Tag;
+import com.antond.entity.Note;
+import com.antond.timing.RequestTiming;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+/**
+ * Reads note documents straight into {@link Note} entities. When enabled through
+ * {@code notebook.storage.hand-written-converters}, it replaces the reflective entity mapping of
+ * Spring Data on every read path: repository queries, list projections, the archive and the
+ * change stream. Fields missing from the document, for example because a projection left them out,
+ * stay null. Compressed texts have already been inflated by
+ * {@link com.antond.repository.NoteTextCompressionListener} when this converter runs.
+ */
+@ReadingConverter
+public class NoteReadingConverter implements Converter<Document, Note> {
+
+  /**
+   * Converts a raw note document into an entity.
+   *
+   * @param document the note document as read from the database
+   * @return the entity with the fields present in the document set
+   */
+  @Override
+  public Note convert(Document document) {
+    long start = System.nanoTime();
+    Note note = new Note();
+
+    Object id = document.get(NoteFields.ID);
+    if (id != null) {
+      note.setId(id instanceof ObjectId objectId ? objectId.toHexString() : id.toString());
+    }
+    note.setTitle(document.getString(NoteFields.TITLE));
+    note.setText(document.getString(NoteFields.TEXT));
+
+    note.setCreatedDate(toLocalDateTime(document.getDate(NoteFields.CREATED_DATE)));
+
+    List<String> tags = document.getList(NoteFields.TAGS, String.class);
+    if (tags != null) {
+      List<Tag> noteTags = new ArrayList<>(tags.size());
+      for (String tag : tags) {
+        noteTags.add(Tag.valueOf(tag));
+      }
+      note.setTags(noteTags);
+    }
+    note.setLastModified(toLocalDateTime(document.getDate(NoteFields.LAST_MODIFIED)));
+    RequestTiming.record(RequestTiming.Phase.MAPPING, start);
+    return note;
+  }
+
+  private static LocalDateTime toLocalDateTime(Date date) {
+    return date == null ? null
+        : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+  }
+}
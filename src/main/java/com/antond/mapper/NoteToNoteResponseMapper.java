@@ -17,8 +17,8 @@ public class NoteToNoteResponseMapper implements Function<List<Note>,
 
   /**
    * Transforms a list of Note entities into a list of NoteResponse DTOs. This method extracts only
-   * the essential fields (id, title, createdDate) needed for displaying notes in list views,
-   * leaving out detailed content and other fields.
+   * the fields needed for displaying notes in list views (id, title, createdDate and tags), leaving
+   * out the detailed content. Fields that were projected away stay null.
    *
    * @param notes the list of Note entities to convert
    * @return a list of NoteResponse DTOs containing simplified note information
@@ -29,6 +29,7 @@ public class NoteToNoteResponseMapper implements Function<List<Note>,
         .id(n.getId())
         .title(n.getTitle())
         .createdDate(n.getCreatedDate())
+        .tags(n.getTags())
         .build()).toList();
   }
 }
@@ -0,0 +1,67 @@
+package com.antond.mapper;
+
+import com.antond.constants.NoteFields;
+import com.antond.constants.Tag;
+import com.antond.entity.Note;
+import com.antond.timing.RequestTiming;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+
+/**
+ * Writes {@link Note} entities straight into documents, in the same layout the reflective entity
+ * mapping produced, minus the {@code _class} type hint that is never needed to read a note back.
+ * Null fields are omitted. Identifiers that are valid ObjectIds are stored as such, and a missing
+ * identifier is left for the driver to generate.
+ */
+@WritingConverter
+public class NoteWritingConverter implements Converter<Note, Document> {
+
+  /**
+   * Converts an entity into the document to be written.
+   *
+   * @param note the note to write
+   * @return the document holding the non-null fields of the note
+   */
+  @Override
+  public Document convert(Note note) {
+    long start = System.nanoTime();
+    Document document = new Document();
+
+    String id = note.getId();
+    if (id != null) {
+      document.put(NoteFields.ID, ObjectId.isValid(id) ? new ObjectId(id) : id);
+    }
+    if (note.getTitle() != null) {
+      document.put(NoteFields.TITLE, note.getTitle());
+    }
+    if (note.getText() != null) {
+      document.put(NoteFields.TEXT, note.getText());
+    }
+    if (note.getCreatedDate() != null) {
+      document.put(NoteFields.CREATED_DATE, toDate(note.getCreatedDate()));
+    }
+    if (note.getTags() != null) {
+      List<String> tags = new ArrayList<>(note.getTags().size());
+      for (Tag tag : note.getTags()) {
+        tags.add(tag.name());
+      }
+      document.put(NoteFields.TAGS, tags);
+    }
+    if (note.getLastModified() != null) {
+      document.put(NoteFields.LAST_MODIFIED, toDate(note.getLastModified()));
+    }
+    RequestTiming.record(RequestTiming.Phase.MAPPING, start);
+    return document;
+  }
+
+  private static Date toDate(LocalDateTime dateTime) {
+    return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+  }
+}
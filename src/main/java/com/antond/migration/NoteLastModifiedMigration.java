@@ -0,0 +1,57 @@
+package com.antond.migration;
+
+import com.antond.constants.NoteFields;
+import com.antond.entity.Note;
+import com.antond.repository.NoteIndexInitializer;
+import com.antond.repository.NoteRepositoryCustom;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration that gives notes stored before modification times were tracked a modification time,
+ * their creation date, so that they are found by syncs. It runs at every startup and only touches
+ * notes that still lack the field. It runs once the application is ready, after
+ * {@link NoteIndexInitializer} has created the modification time index, which finds these notes
+ * without a collection scan.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteLastModifiedMigration {
+
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * Sets the missing modification times.
+   */
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  @EventListener(ApplicationReadyEvent.class)
+  public void run() {
+    for (String collection : new String[]{mongoTemplate.getCollectionName(Note.class),
+        NoteRepositoryCustom.ARCHIVE_COLLECTION}) {
+      try {
+        long updated = mongoTemplate.getCollection(collection).updateMany(
+            Filters.eq(NoteFields.LAST_MODIFIED, null),
+            List.of(new Document("$set", new Document(NoteFields.LAST_MODIFIED,
+                new Document("$ifNull", List.of("$" + NoteFields.CREATED_DATE, "$$NOW"))))))
+            .getModifiedCount();
+        if (updated > 0) {
+          log.info("Set the modification time of {} notes in collection {}", updated, collection);
+        }
+      } catch (MongoException e) {
+        log.warn("Could not set the modification time of the notes in collection {}", collection,
+            e);
+      }
+    }
+  }
+}
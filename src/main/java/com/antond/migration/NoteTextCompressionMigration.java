@@ -0,0 +1,143 @@
+package com.antond.migration;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.NoteFields;
+import com.antond.entity.Note;
+import com.antond.utils.TextCompressor;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration that moves existing notes between the plain and the compressed text layout.
+ * It is selected with {@code notebook.storage.compression.migration} and runs once at startup,
+ * walking the collection in {@code _id} order in bounded batches so that it can be interrupted and
+ * restarted safely. Documents modified concurrently are skipped rather than overwritten.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteTextCompressionMigration implements ApplicationRunner {
+
+  private final MongoTemplate mongoTemplate;
+  private final NotebookProperties properties;
+  private final TextCompressor textCompressor;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    NotebookProperties.Compression compression = properties.getStorage().getCompression();
+    switch (compression.getMigration()) {
+      case COMPRESS -> compressExistingNotes(compression);
+      case DECOMPRESS -> decompressExistingNotes(compression);
+      case NONE -> {
+      }
+    }
+  }
+
+  /**
+   * Compresses the text of every stored note whose UTF-8 size reaches the configured threshold.
+   *
+   * @param compression the compression settings providing threshold, level and batch size
+   */
+  private void compressExistingNotes(NotebookProperties.Compression compression) {
+    String collection = mongoTemplate.getCollectionName(Note.class);
+    Object lastId = null;
+    long rewritten = 0;
+    List<Document> batch;
+
+    do {
+      Document filter = new Document(NoteFields.TEXT, new Document("$type", "string"))
+          .append("$expr", new Document("$gte", List.of(
+              new Document("$strLenBytes", new Document("$ifNull",
+                  List.of("$" + NoteFields.TEXT, ""))),
+              compression.getMinSize())));
+      batch = findBatch(collection, filter, new Document(NoteFields.TEXT, 1), lastId,
+          compression.getMigrationBatchSize());
+
+      BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+      int updates = 0;
+      for (Document document : batch) {
+        String text = document.getString(NoteFields.TEXT);
+        byte[] compressed = textCompressor.compress(text, compression.getMinSize(),
+            compression.getLevel());
+        if (compressed != null) {
+          bulk.updateOne(
+              new BasicQuery(new Document(NoteFields.ID, document.get(NoteFields.ID))
+                  .append(NoteFields.TEXT, text)),
+              new Update()
+                  .set(NoteFields.COMPRESSED_TEXT, new Binary(compressed))
+                  .set(NoteFields.TEXT_CODEC, TextCompressor.DEFLATE_CODEC)
+                  .unset(NoteFields.TEXT));
+          updates++;
+        }
+        lastId = document.get(NoteFields.ID);
+      }
+      if (updates > 0) {
+        rewritten += bulk.execute().getModifiedCount();
+      }
+    } while (batch.size() == compression.getMigrationBatchSize());
+
+    log.info("Text compression migration finished, {} notes compressed", rewritten);
+  }
+
+  /**
+   * Restores the plain text layout for every stored note that is currently compressed.
+   *
+   * @param compression the compression settings providing the batch size
+   */
+  private void decompressExistingNotes(NotebookProperties.Compression compression) {
+    String collection = mongoTemplate.getCollectionName(Note.class);
+    Object lastId = null;
+    long rewritten = 0;
+    List<Document> batch;
+
+    do {
+      Document filter = new Document(NoteFields.COMPRESSED_TEXT, new Document("$exists", true));
+      Document fields = new Document(NoteFields.COMPRESSED_TEXT, 1).append(NoteFields.TEXT_CODEC, 1);
+      batch = findBatch(collection, filter, fields, lastId, compression.getMigrationBatchSize());
+      if (batch.isEmpty()) {
+        break;
+      }
+
+      BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+      for (Document document : batch) {
+        Binary compressed = document.get(NoteFields.COMPRESSED_TEXT, Binary.class);
+        String text = textCompressor.decompress(compressed.getData(),
+            document.getString(NoteFields.TEXT_CODEC));
+        bulk.updateOne(
+            new BasicQuery(new Document(NoteFields.ID, document.get(NoteFields.ID))
+                .append(NoteFields.COMPRESSED_TEXT, compressed)),
+            new Update()
+                .set(NoteFields.TEXT, text)
+                .unset(NoteFields.COMPRESSED_TEXT)
+                .unset(NoteFields.TEXT_CODEC));
+        lastId = document.get(NoteFields.ID);
+      }
+      rewritten += bulk.execute().getModifiedCount();
+    } while (batch.size() == compression.getMigrationBatchSize());
+
+    log.info("Text decompression migration finished, {} notes decompressed", rewritten);
+  }
+
+  private List<Document> findBatch(String collection, Document filter, Document fields,
+      Object lastId, int batchSize) {
+    if (lastId != null) {
+      filter.append(NoteFields.ID, new Document("$gt", lastId));
+    }
+    Query query = new BasicQuery(filter, fields)
+        .with(Sort.by(Sort.Direction.ASC, NoteFields.ID))
+        .limit(batchSize);
+    return mongoTemplate.find(query, Document.class, collection);
+  }
+}
@@ -0,0 +1,24 @@
+package com.antond.repository;
+
+import com.antond.entity.Note;
+import java.time.LocalDateTime;
+
+/**
+ * A note write found by a sync: either the current state of a created or updated note, or the
+ * tombstone of a deleted one.
+ *
+ * @param id           the identifier of the note
+ * @param lastModified the time of the write
+ * @param note         the note as currently stored, or null if it was deleted
+ */
+public record NoteChange(String id, LocalDateTime lastModified, Note note) {
+
+  /**
+   * Checks whether the note was deleted.
+   *
+   * @return true if this change is a tombstone
+   */
+  public boolean isDeleted() {
+    return note == null;
+  }
+}
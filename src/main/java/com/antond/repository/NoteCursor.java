@@ -0,0 +1,66 @@
+package com.antond.repository;
+
+import com.antond.entity.Note;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position of a note in a list sorted by creation date, used for keyset pagination. Instead of
+ * skipping over all previous pages, the next page starts right after the cursor, which the database
+ * resolves with a seek on the creation date index. The note ID breaks ties between notes created at
+ * the same time. Cursors are handed to clients as opaque tokens.
+ *
+ * @param createdDate the creation date of the last note of the previous page
+ * @param id          the identifier of the last note of the previous page
+ */
+public record NoteCursor(LocalDateTime createdDate, String id) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Creates the cursor pointing after the given note.
+   *
+   * @param note the last note of a page
+   * @return the cursor, or empty if the note was read without its ID or creation date
+   */
+  public static Optional<NoteCursor> after(Note note) {
+    if (note.getId() == null || note.getCreatedDate() == null) {
+      return Optional.empty();
+    }
+    return Optional.of(new NoteCursor(note.getCreatedDate(), note.getId()));
+  }
+
+  /**
+   * Restores a cursor from its token.
+   *
+   * @param token the token created by {@link #encode()}
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static NoteCursor decode(String token) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = value.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new NoteCursor(LocalDateTime.parse(value.substring(0, separator)),
+          value.substring(separator + 1));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  /**
+   * Encodes this cursor into an opaque, URL safe token.
+   *
+   * @return the token
+   */
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((createdDate + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+  }
+}
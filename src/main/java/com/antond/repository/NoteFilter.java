@@ -0,0 +1,57 @@
+package com.antond.repository;
+
+import com.antond.constants.Tag;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Criteria for selecting notes in list queries. An empty filter matches every note.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NoteFilter {
+
+  /**
+   * Tags that a note must all carry to match.
+   */
+  @Builder.Default
+  private List<Tag> allTags = List.of();
+
+  /**
+   * Tags of which a note must carry at least one to match, if any are given.
+   */
+  @Builder.Default
+  private List<Tag> anyTags = List.of();
+
+  /**
+   * Tags that a note must not carry to match.
+   */
+  @Builder.Default
+  private List<Tag> noneTags = List.of();
+
+  /**
+   * Notes must be created at or after this time, if set.
+   */
+  private LocalDateTime createdFrom;
+
+  /**
+   * Notes must be created before this time, if set.
+   */
+  private LocalDateTime createdTo;
+
+  /**
+   * Keyset pagination position: only notes after this cursor in the sort order match, if set.
+   */
+  private NoteCursor after;
+
+  /**
+   * Whether notes moved to the archive collection are included.
+   */
+  private boolean includeArchived;
+}
@@ -0,0 +1,77 @@
+package com.antond.repository;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.NoteFields;
+import com.antond.entity.Note;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes backing the list queries on the hot and the archive collection. Both indexes
+ * end with the creation date and the ID, matching the sort of every list query, so that date
+ * ranges, keyset cursors and tag filters are answered by index range scans in either direction
+ * without an in-memory sort. The modification time indexes of the note and tombstone collections
+ * serve syncs the same way, and a TTL index expires tombstones after the configured retention.
+ * Creation is idempotent and runs once the application is ready rather than during context startup,
+ * so that the context can be built without a database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoteIndexInitializer {
+
+  private final MongoTemplate mongoTemplate;
+  private final NotebookProperties properties;
+
+  /**
+   * Creates the missing indexes.
+   */
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @EventListener(ApplicationReadyEvent.class)
+  public void createIndexes() {
+    for (String collection : new String[]{mongoTemplate.getCollectionName(Note.class),
+        NoteRepositoryCustom.ARCHIVE_COLLECTION}) {
+      try {
+        mongoTemplate.indexOps(collection).ensureIndex(new Index()
+            .on(NoteFields.CREATED_DATE, Sort.Direction.DESC)
+            .on(NoteFields.ID, Sort.Direction.DESC)
+            .named("createdDate_id"));
+        mongoTemplate.indexOps(collection).ensureIndex(new Index()
+            .on(NoteFields.TAGS, Sort.Direction.ASC)
+            .on(NoteFields.CREATED_DATE, Sort.Direction.DESC)
+            .on(NoteFields.ID, Sort.Direction.DESC)
+            .named("tags_createdDate_id"));
+        ensureLastModifiedIndex(collection);
+      } catch (DataAccessException e) {
+        log.warn("Could not create the indexes of collection {}", collection, e);
+      }
+    }
+
+    String tombstones = NoteRepositoryCustom.TOMBSTONE_COLLECTION;
+    try {
+      ensureLastModifiedIndex(tombstones);
+      mongoTemplate.indexOps(tombstones).ensureIndex(new Index()
+          .on(NoteFields.LAST_MODIFIED, Sort.Direction.ASC)
+          .expire(properties.getSync().getTombstoneRetention())
+          .named("lastModified_ttl"));
+    } catch (DataAccessException e) {
+      log.warn("Could not create the indexes of collection {}", tombstones, e);
+    }
+  }
+
+  private void ensureLastModifiedIndex(String collection) {
+    mongoTemplate.indexOps(collection).ensureIndex(new Index()
+        .on(NoteFields.LAST_MODIFIED, Sort.Direction.ASC)
+        .on(NoteFields.ID, Sort.Direction.ASC)
+        .named("lastModified_id"));
+  }
+}
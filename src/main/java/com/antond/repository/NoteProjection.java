@@ -0,0 +1,148 @@
+package com.antond.repository;
+
+import com.antond.constants.NoteFields;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Describes which note fields a read operation should return. A projection is translated into a
+ * MongoDB field projection, so fields that were not requested are neither read by the database nor
+ * transferred to the application; they stay null on the returned entities and are skipped during
+ * serialization.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class NoteProjection {
+
+  public static final String ID = "id";
+  public static final String TITLE = NoteFields.TITLE;
+  public static final String TEXT = NoteFields.TEXT;
+  public static final String CREATED_DATE = NoteFields.CREATED_DATE;
+  public static final String TAGS = NoteFields.TAGS;
+
+  /**
+   * Fields that can be requested when reading a single note.
+   */
+  public static final Set<String> NOTE_FIELDS = orderedSet(ID, TITLE, TEXT, CREATED_DATE, TAGS);
+
+  /**
+   * Fields that can be requested from list endpoints. The text is excluded to keep list queries
+   * from loading note bodies.
+   */
+  public static final Set<String> LIST_FIELDS = orderedSet(ID, TITLE, CREATED_DATE, TAGS);
+
+  /**
+   * Projection returning every field of a note.
+   */
+  public static final NoteProjection FULL = new NoteProjection(NOTE_FIELDS);
+
+  /**
+   * Projection returning the fields shown in list views by default.
+   */
+  public static final NoteProjection SUMMARY = new NoteProjection(
+      orderedSet(ID, TITLE, CREATED_DATE));
+
+  private final Set<String> fields;
+
+  private NoteProjection(Set<String> fields) {
+    this.fields = Collections.unmodifiableSet(fields);
+  }
+
+  /**
+   * Creates the projection for reading a single note from the requested field names.
+   *
+   * @param requested the requested field names; if null or empty, all fields are returned
+   * @return the projection for the requested fields
+   * @throws IllegalArgumentException if an unknown field is requested
+   */
+  public static NoteProjection forNote(Collection<String> requested) {
+    return of(requested, NOTE_FIELDS, FULL);
+  }
+
+  /**
+   * Creates the projection for list endpoints from the requested field names.
+   *
+   * @param requested the requested field names; if null or empty, the summary fields are returned
+   * @return the projection for the requested fields
+   * @throws IllegalArgumentException if an unknown field or the text is requested
+   */
+  public static NoteProjection forList(Collection<String> requested) {
+    return of(requested, LIST_FIELDS, SUMMARY);
+  }
+
+  private static NoteProjection of(Collection<String> requested, Set<String> allowed,
+      NoteProjection defaults) {
+    if (requested == null || requested.isEmpty()) {
+      return defaults;
+    }
+
+    Set<String> fields = new LinkedHashSet<>();
+    for (String field : requested) {
+      String name = field.trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      if (!allowed.contains(name)) {
+        throw new IllegalArgumentException(
+            "Unsupported field '" + name + "', allowed fields are " + allowed);
+      }
+      fields.add(name);
+    }
+    return fields.isEmpty() ? defaults : new NoteProjection(fields);
+  }
+
+  /**
+   * Checks whether the given field is part of this projection.
+   *
+   * @param field the entity field name
+   * @return true if the field is returned by this projection
+   */
+  public boolean includes(String field) {
+    return fields.contains(field);
+  }
+
+  /**
+   * Checks whether this projection returns every field of a note.
+   *
+   * @return true if no field is projected away
+   */
+  public boolean isFull() {
+    return fields.containsAll(NOTE_FIELDS);
+  }
+
+  /**
+   * Restricts the fields returned by the given query to this projection. When the text is
+   * included, its compressed representation is included as well so that it can be restored.
+   *
+   * @param query the query to restrict
+   * @return the same query, for chaining
+   */
+  public Query applyTo(Query query) {
+    if (isFull()) {
+      return query;
+    }
+
+    Field projection = query.fields();
+    fields.forEach(projection::include);
+    if (includes(TEXT)) {
+      projection.include(NoteFields.COMPRESSED_TEXT, NoteFields.TEXT_CODEC);
+    }
+    if (!includes(ID)) {
+      projection.exclude(ID);
+    }
+    return query;
+  }
+
+  private static Set<String> orderedSet(String... fields) {
+    return Collections.unmodifiableSet(new LinkedHashSet<>(List.of(fields)));
+  }
+}
@@ -0,0 +1,152 @@
+package com.antond.repository;
+
+import com.antond.dto.response.NoteTextSlice;
+import com.antond.entity.Note;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.bson.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+/**
+ * Custom repository fragment for note queries that cannot be expressed as derived or annotated
+ * query methods. Implemented by {@link NoteRepositoryCustomImpl} on top of MongoTemplate.
+ */
+public interface NoteRepositoryCustom {
+
+  /**
+   * Collection holding the notes moved out of the hot {@code notes} collection by the archiver.
+   * Archived documents keep their layout, including compressed texts.
+   */
+  String ARCHIVE_COLLECTION = "notes_archive";
+
+  /**
+   * Collection recording when notes were deleted, so that syncing clients learn about deletions.
+   * Tombstones expire after the configured retention.
+   */
+  String TOMBSTONE_COLLECTION = "notes_tombstones";
+
+  /**
+   * Reads a part of a note's text without loading the whole text. For plain texts the slice is cut
+   * by the database using an aggregation; compressed texts are inflated only as far as needed.
+   * Archived notes are looked up when the note is not in the hot collection.
+   *
+   * @param id     the unique identifier of the note
+   * @param offset the index of the first code point to return
+   * @param length the maximum number of code points to return
+   * @return the requested slice together with the total text length, or empty if no note exists
+   *         with the given ID
+   */
+  Optional<NoteTextSlice> findTextSlice(String id, int offset, int length);
+
+  /**
+   * Finds a note by its identifier, reading only the fields of the given projection.
+   *
+   * @param id         the unique identifier of the note
+   * @param projection the fields to read
+   * @return the note with only the projected fields set, or empty if no note exists with the ID
+   */
+  Optional<Note> findProjectedById(String id, NoteProjection projection);
+
+  /**
+   * Finds an archived note by its identifier, reading only the fields of the given projection.
+   *
+   * @param id         the unique identifier of the note
+   * @param projection the fields to read
+   * @return the archived note with only the projected fields set, or empty if no archived note
+   *         exists with the ID
+   */
+  Optional<Note> findArchivedById(String id, NoteProjection projection);
+
+  /**
+   * Finds the notes with the given identifiers, hot or archived, in a single round trip, reading
+   * only the fields of the given projection. The identifier is always read, regardless of the
+   * projection, so that results can be matched to the requested IDs. Compressed texts are
+   * inflated.
+   *
+   * @param ids        the identifiers of the notes
+   * @param projection the fields to read
+   * @return the found notes in no particular order, one per identifier
+   */
+  List<Note> findAllByIds(Collection<String> ids, NoteProjection projection);
+
+  /**
+   * Applies an update to a note of the hot collection in place, without reading or writing the
+   * fields it does not touch. The text is never read back.
+   *
+   * @param id     the unique identifier of the note
+   * @param update the update operators to apply
+   * @return the updated note with every field except the text set, or empty if no note exists with
+   *         the ID in the hot collection
+   */
+  Optional<Note> updateFields(String id, UpdateDefinition update);
+
+  /**
+   * Deletes an archived note.
+   *
+   * @param id the unique identifier of the note
+   * @return true if an archived note was deleted
+   */
+  boolean deleteArchivedById(String id);
+
+  /**
+   * Records the deletion of a note for syncing clients.
+   *
+   * @param id        the unique identifier of the deleted note
+   * @param deletedAt the time of the deletion
+   */
+  void saveTombstone(String id, LocalDateTime deletedAt);
+
+  /**
+   * Finds the notes, hot or archived, and the tombstones written after a sync position and before
+   * a point in time, in the order of their modification time and ID. Every collection contributes
+   * at most {@code limit} entries read from its modification time index before they are merged. A
+   * note that is being moved to the archive may be returned twice. Compressed texts are inflated.
+   *
+   * @param after  the position to continue from, or null to start from the oldest change
+   * @param before changes made at or after this time are left out
+   * @param limit  the maximum number of changes to return
+   * @return the changes in order
+   */
+  List<NoteChange> findChangesSince(NoteSyncToken after, LocalDateTime before, int limit);
+
+  /**
+   * Moves up to {@code limit} of the oldest notes created before the cutoff into the archive
+   * collection. Every note is copied first and removed from the hot collection only if it was not
+   * modified in the meantime; notes that were are left hot and picked up by a later call.
+   *
+   * @param cutoff notes created before this time are archived
+   * @param limit  the maximum number of notes to move
+   * @return the identifiers of the archived notes
+   */
+  List<String> archiveNotesCreatedBefore(LocalDateTime cutoff, int limit);
+
+  /**
+   * Finds the notes matching a filter, reading only the fields of the given projection. Results
+   * are sorted by the sort of the pageable, or by creation date descending if it is unsorted. If
+   * the filter includes archived notes, the archive collection is merged in with
+   * {@code $unionWith}.
+   *
+   * @param filter     the criteria notes have to match
+   * @param pageable   the pagination information including page number, size and optional sorting
+   * @param projection the fields to read
+   * @return a page of matching notes with only the projected fields set
+   */
+  List<Note> findNotes(NoteFilter filter, Pageable pageable, NoteProjection projection);
+
+  /**
+   * Streams the raw documents of the notes matching a filter straight from the database cursor,
+   * without converting them to entities or collecting them. Selection, order and projection are
+   * the same as for {@link #findNotes(NoteFilter, Pageable, NoteProjection)}.
+   *
+   * @param filter     the criteria notes have to match
+   * @param pageable   the pagination information including page number, size and optional sorting
+   * @param projection the fields to read
+   * @param consumer   receives every matching document in order, while the cursor is open
+   */
+  void streamNotes(NoteFilter filter, Pageable pageable, NoteProjection projection,
+      Consumer<Document> consumer);
+}
@@ -0,0 +1,463 @@
+package com.antond.repository;
+
+import com.antond.constants.NoteFields;
+import com.antond.constants.Tag;
+import com.antond.dto.response.NoteTextSlice;
+import com.antond.entity.Note;
+import com.antond.jfr.RepositoryQueryEvent;
+import com.antond.utils.TextCompressor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+/**
+ * MongoTemplate based implementation of {@link NoteRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class NoteRepositoryCustomImpl implements NoteRepositoryCustom {
+
+  private static final String LENGTH = "length";
+  private static final String ARCHIVED_MARKER = "_archived";
+  private static final String DELETED_MARKER = "_deleted";
+
+  private final MongoTemplate mongoTemplate;
+  private final TextCompressor textCompressor;
+
+  @Override
+  public Optional<NoteTextSlice> findTextSlice(String id, int offset, int length) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("findTextSlice", 1, true);
+    Document text = new Document("$ifNull", List.of("$" + NoteFields.TEXT, ""));
+    List<Document> pipeline = List.of(
+        new Document("$match", new Document(NoteFields.ID, toMongoId(id))),
+        new Document("$project", new Document()
+            .append(NoteFields.TEXT, new Document("$substrCP", List.of(text, offset, length)))
+            .append(LENGTH, new Document("$strLenCP", text))
+            .append(NoteFields.COMPRESSED_TEXT, 1)
+            .append(NoteFields.TEXT_CODEC, 1)));
+
+    Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Note.class))
+        .aggregate(pipeline)
+        .first();
+    if (result == null) {
+      result = mongoTemplate.getCollection(ARCHIVE_COLLECTION).aggregate(pipeline).first();
+    }
+    event.finish(result == null ? 0 : 1);
+    if (result == null) {
+      return Optional.empty();
+    }
+
+    if (result.get(NoteFields.COMPRESSED_TEXT) instanceof Binary compressed) {
+      return Optional.of(textCompressor.slice(compressed.getData(),
+          result.getString(NoteFields.TEXT_CODEC), offset, length));
+    }
+    return Optional.of(NoteTextSlice.builder()
+        .text(result.getString(NoteFields.TEXT))
+        .offset(offset)
+        .totalLength(result.getInteger(LENGTH))
+        .build());
+  }
+
+  @Override
+  public Optional<Note> findProjectedById(String id, NoteProjection projection) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("findProjectedById", 1, false);
+    Query query = projection.applyTo(new Query(Criteria.where(NoteProjection.ID).is(id)));
+    Note note = mongoTemplate.findOne(query, Note.class);
+    event.finish(note == null ? 0 : 1);
+    return Optional.ofNullable(note);
+  }
+
+  @Override
+  public Optional<Note> findArchivedById(String id, NoteProjection projection) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("findArchivedById", 1, true);
+    Query query = projection.applyTo(new Query(Criteria.where(NoteProjection.ID).is(id)));
+    Note note = mongoTemplate.findOne(query, Note.class, ARCHIVE_COLLECTION);
+    event.finish(note == null ? 0 : 1);
+    return Optional.ofNullable(note);
+  }
+
+  @Override
+  public List<Note> findAllByIds(Collection<String> ids, NoteProjection projection) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("findAllByIds", ids.size(), true);
+    Query query = projection.applyTo(new Query(Criteria.where(NoteProjection.ID).in(ids)));
+    query.fields().include(NoteProjection.ID);
+    MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+        .getRequiredPersistentEntity(Note.class);
+    QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    Document criteria = queryMapper.getMappedObject(query.getQueryObject(), entity);
+    Document fields = queryMapper.getMappedFields(query.getFieldsObject(), entity);
+
+    List<Document> branch = new ArrayList<>();
+    branch.add(new Document("$match", criteria));
+    if (!fields.isEmpty()) {
+      branch.add(new Document("$project", fields));
+    }
+    List<Document> archiveBranch = new ArrayList<>(branch);
+    archiveBranch.add(new Document("$set", new Document(ARCHIVED_MARKER, true)));
+    List<Document> pipeline = new ArrayList<>(branch);
+    pipeline.add(new Document("$unionWith", new Document("coll", ARCHIVE_COLLECTION)
+        .append("pipeline", archiveBranch)));
+
+    // A note can briefly exist in both collections while it is moved; the hot copy wins.
+    Map<String, Note> notes = new HashMap<>();
+    for (Document document : mongoTemplate.getCollection(entity.getCollection())
+        .aggregate(pipeline)) {
+      boolean archived = document.remove(ARCHIVED_MARKER) != null;
+      inflateText(document);
+      Note note = mongoTemplate.getConverter().read(Note.class, document);
+      if (archived) {
+        notes.putIfAbsent(note.getId(), note);
+      } else {
+        notes.put(note.getId(), note);
+      }
+    }
+    event.finish(notes.size());
+    return List.copyOf(notes.values());
+  }
+
+  @Override
+  public Optional<Note> updateFields(String id, UpdateDefinition update) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("updateFields", 1, false);
+    Query query = new Query(Criteria.where(NoteProjection.ID).is(id));
+    query.fields().exclude(NoteFields.TEXT, NoteFields.COMPRESSED_TEXT, NoteFields.TEXT_CODEC);
+    Note note = mongoTemplate.findAndModify(query, update,
+        FindAndModifyOptions.options().returnNew(true), Note.class);
+    event.finish(note == null ? 0 : 1);
+    return Optional.ofNullable(note);
+  }
+
+  @Override
+  public boolean deleteArchivedById(String id) {
+    return mongoTemplate.remove(new Query(Criteria.where(NoteProjection.ID).is(id)), Note.class,
+        ARCHIVE_COLLECTION).getDeletedCount() > 0;
+  }
+
+  @Override
+  public void saveTombstone(String id, LocalDateTime deletedAt) {
+    mongoTemplate.upsert(new Query(Criteria.where(NoteFields.ID).is(toMongoId(id))),
+        Update.update(NoteFields.LAST_MODIFIED, deletedAt), TOMBSTONE_COLLECTION);
+  }
+
+  @Override
+  public List<NoteChange> findChangesSince(NoteSyncToken after, LocalDateTime before,
+      int limit) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("findChangesSince", limit, true);
+    Criteria lastModified = Criteria.where(NoteFields.LAST_MODIFIED).lt(before);
+    if (after != null) {
+      lastModified.gte(after.lastModified());
+    }
+    Query query = new Query(lastModified);
+    if (after != null && after.id() != null) {
+      query.addCriteria(new Criteria().orOperator(
+          Criteria.where(NoteFields.LAST_MODIFIED).gt(after.lastModified()),
+          Criteria.where(NoteFields.ID).gt(toMongoId(after.id()))));
+    }
+    MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+        .getRequiredPersistentEntity(Note.class);
+    Document criteria = new QueryMapper(mongoTemplate.getConverter())
+        .getMappedObject(query.getQueryObject(), entity);
+    Document sort = new Document(NoteFields.LAST_MODIFIED, 1).append(NoteFields.ID, 1);
+
+    List<Document> branch = List.of(
+        new Document("$match", criteria),
+        new Document("$sort", sort),
+        new Document("$limit", limit));
+    List<Document> tombstoneBranch = new ArrayList<>(branch);
+    tombstoneBranch.add(new Document("$set", new Document(DELETED_MARKER, true)));
+    List<Document> pipeline = new ArrayList<>(branch);
+    pipeline.add(new Document("$unionWith", new Document("coll", ARCHIVE_COLLECTION)
+        .append("pipeline", branch)));
+    pipeline.add(new Document("$unionWith", new Document("coll", TOMBSTONE_COLLECTION)
+        .append("pipeline", tombstoneBranch)));
+    pipeline.add(new Document("$sort", sort));
+    pipeline.add(new Document("$limit", limit));
+
+    List<NoteChange> changes = new ArrayList<>();
+    for (Document document : mongoTemplate.getCollection(entity.getCollection())
+        .aggregate(pipeline)) {
+      boolean deleted = document.remove(DELETED_MARKER) != null;
+      inflateText(document);
+      Note note = mongoTemplate.getConverter().read(Note.class, document);
+      changes.add(new NoteChange(note.getId(), note.getLastModified(), deleted ? null : note));
+    }
+    event.finish(changes.size());
+    return changes;
+  }
+
+  @Override
+  public List<String> archiveNotesCreatedBefore(LocalDateTime cutoff, int limit) {
+    String hotCollection = mongoTemplate.getCollectionName(Note.class);
+    Query query = new Query(Criteria.where(NoteFields.CREATED_DATE).lt(cutoff))
+        .with(Sort.by(Sort.Direction.ASC, NoteFields.CREATED_DATE))
+        .limit(limit);
+    List<Document> batch = mongoTemplate.find(query, Document.class, hotCollection);
+    if (batch.isEmpty()) {
+      return List.of();
+    }
+
+    BulkWriteOptions unordered = new BulkWriteOptions().ordered(false);
+    MongoCollection<Document> archive = mongoTemplate.getCollection(ARCHIVE_COLLECTION);
+    archive.bulkWrite(batch.stream()
+        .map(document -> new ReplaceOneModel<>(
+            Filters.eq(NoteFields.ID, document.get(NoteFields.ID)), document,
+            new ReplaceOptions().upsert(true)))
+        .toList(), unordered);
+
+    // Matching on the whole copied document only removes notes that were not modified since.
+    MongoCollection<Document> hot = mongoTemplate.getCollection(hotCollection);
+    hot.bulkWrite(batch.stream()
+        .map(document -> new DeleteOneModel<Document>(document))
+        .toList(), unordered);
+
+    List<Object> ids = batch.stream().map(document -> document.get(NoteFields.ID)).toList();
+    Set<Object> stillHot = hot.find(Filters.in(NoteFields.ID, ids))
+        .projection(Projections.include(NoteFields.ID))
+        .map(document -> document.get(NoteFields.ID))
+        .into(new HashSet<>());
+    if (!stillHot.isEmpty()) {
+      archive.deleteMany(Filters.in(NoteFields.ID, stillHot));
+    }
+
+    return ids.stream()
+        .filter(id -> !stillHot.contains(id))
+        .map(id -> id instanceof ObjectId objectId ? objectId.toHexString() : id.toString())
+        .toList();
+  }
+
+  @Override
+  public List<Note> findNotes(NoteFilter filter, Pageable pageable, NoteProjection projection) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("findNotes", pageable.getPageSize(),
+        filter.isIncludeArchived());
+    List<Note> notes;
+    if (!filter.isIncludeArchived()) {
+      notes = mongoTemplate.find(listQuery(filter, pageable, projection), Note.class);
+    } else {
+      List<Note> results = new ArrayList<>();
+      queryNotes(filter, pageable, projection,
+          document -> results.add(mongoTemplate.getConverter().read(Note.class, document)));
+      notes = results;
+    }
+    event.finish(notes.size());
+    return notes;
+  }
+
+  @Override
+  public void streamNotes(NoteFilter filter, Pageable pageable, NoteProjection projection,
+      Consumer<Document> consumer) {
+    RepositoryQueryEvent event = RepositoryQueryEvent.start("streamNotes", pageable.getPageSize(),
+        filter.isIncludeArchived());
+    event.finish(queryNotes(filter, pageable, projection, consumer));
+  }
+
+  /**
+   * Runs a list query and passes the raw documents to the consumer as they are read from the
+   * cursor.
+   *
+   * @return the number of documents read
+   */
+  private long queryNotes(NoteFilter filter, Pageable pageable, NoteProjection projection,
+      Consumer<Document> consumer) {
+    Query query = listQuery(filter, pageable, projection);
+    MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+        .getRequiredPersistentEntity(Note.class);
+    QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    Document criteria = queryMapper.getMappedObject(query.getQueryObject(), entity);
+    Document fields = queryMapper.getMappedFields(query.getFieldsObject(), entity);
+    Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+    MongoCollection<Document> collection = mongoTemplate.getCollection(entity.getCollection());
+
+    MongoIterable<Document> documents = filter.isIncludeArchived()
+        ? collection.aggregate(archiveUnionPipeline(criteria, fields, sort, (int) query.getSkip(),
+            query.getLimit()))
+        : collection.find(criteria)
+            .projection(fields)
+            .sort(sort)
+            .skip((int) query.getSkip())
+            .limit(query.getLimit());
+    long count = 0;
+    try (MongoCursor<Document> cursor = documents.iterator()) {
+      while (cursor.hasNext()) {
+        consumer.accept(cursor.next());
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Builds the aggregation pipeline reading a page from the hot and the archive collection
+   * together. Each collection contributes at most the notes up to the end of the page, in sorted
+   * order, so that both sides can still use their indexes before the results are merged.
+   */
+  private List<Document> archiveUnionPipeline(Document criteria, Document fields, Document sort,
+      int skip, int limit) {
+    List<Document> branch = List.of(
+        new Document("$match", criteria),
+        new Document("$sort", sort),
+        new Document("$limit", skip + limit));
+
+    List<Document> pipeline = new ArrayList<>(branch);
+    pipeline.add(new Document("$unionWith", new Document("coll", ARCHIVE_COLLECTION)
+        .append("pipeline", branch)));
+    pipeline.add(new Document("$sort", sort));
+    pipeline.add(new Document("$skip", skip));
+    pipeline.add(new Document("$limit", limit));
+    if (!fields.isEmpty()) {
+      pipeline.add(new Document("$project", fields));
+    }
+    return pipeline;
+  }
+
+  private Query listQuery(NoteFilter filter, Pageable pageable, NoteProjection projection) {
+    Query query = new Query();
+    addTagCriteria(query, filter);
+
+    Sort sort = pageable.getSort().isUnsorted()
+        ? Sort.by(Sort.Direction.DESC, NoteFields.CREATED_DATE) : pageable.getSort();
+    Sort.Order createdOrder = sort.getOrderFor(NoteFields.CREATED_DATE);
+    Sort.Direction direction = createdOrder != null
+        ? createdOrder.getDirection() : Sort.Direction.DESC;
+    addCreatedDateCriteria(query, filter, direction);
+
+    query.with(pageable);
+    if (pageable.getSort().isUnsorted()) {
+      query.with(sort);
+    }
+    // The ID makes the order total, which keyset cursors rely on, and matches the list indexes.
+    if (createdOrder != null || pageable.getSort().isUnsorted()) {
+      query.with(Sort.by(direction, NoteFields.ID));
+    }
+    return projection.applyTo(query);
+  }
+
+  /**
+   * Restricts the tags to the sets of the filter, combined into a single {@code tags} condition of
+   * {@code $all}, {@code $in} and {@code $nin}. The sets are normalized first: an any-set that
+   * shares a tag with the all-set is always satisfied and dropped, and tags that are excluded are
+   * removed from it. The remaining {@code $all} or {@code $in} values give the planner equality
+   * bounds on the tags index, whose createdDate suffix still provides the sort order.
+   */
+  private void addTagCriteria(Query query, NoteFilter filter) {
+    Set<Tag> all = EnumSet.noneOf(Tag.class);
+    Set<Tag> any = EnumSet.noneOf(Tag.class);
+    Set<Tag> none = EnumSet.noneOf(Tag.class);
+    all.addAll(filter.getAllTags());
+    any.addAll(filter.getAnyTags());
+    none.addAll(filter.getNoneTags());
+
+    if (any.stream().anyMatch(all::contains)) {
+      any.clear();
+    } else if (!any.isEmpty()) {
+      any.removeAll(none);
+      if (any.isEmpty()) {
+        // Every tag that would satisfy the any-set is excluded: nothing can match.
+        query.addCriteria(Criteria.where(NoteFields.TAGS).in(List.of()));
+        return;
+      }
+    }
+    if (all.isEmpty() && any.isEmpty() && none.isEmpty()) {
+      return;
+    }
+
+    Criteria tags = Criteria.where(NoteFields.TAGS);
+    if (!all.isEmpty()) {
+      tags.all(all);
+    }
+    if (!any.isEmpty()) {
+      tags.in(any);
+    }
+    if (!none.isEmpty()) {
+      tags.nin(none);
+    }
+    query.addCriteria(tags);
+  }
+
+  /**
+   * Restricts the creation date to the range of the filter and, for keyset pagination, to the
+   * notes following the cursor in the given sort direction. All bounds end up on a single
+   * {@code createdDate} condition, so that the database can answer it with one index range scan.
+   */
+  private void addCreatedDateCriteria(Query query, NoteFilter filter, Sort.Direction direction) {
+    NoteCursor cursor = filter.getAfter();
+    LocalDateTime from = filter.getCreatedFrom();
+    LocalDateTime to = filter.getCreatedTo();
+    if (from == null && to == null && cursor == null) {
+      return;
+    }
+
+    Criteria createdDate = Criteria.where(NoteFields.CREATED_DATE);
+    if (cursor != null && direction.isAscending()) {
+      from = from == null || cursor.createdDate().isAfter(from) ? cursor.createdDate() : from;
+    } else if (cursor != null) {
+      createdDate.lte(cursor.createdDate());
+    }
+    if (from != null) {
+      createdDate.gte(from);
+    }
+    if (to != null) {
+      createdDate.lt(to);
+    }
+    query.addCriteria(createdDate);
+
+    if (cursor != null) {
+      Object id = toMongoId(cursor.id());
+      query.addCriteria(new Criteria().orOperator(
+          direction.isAscending()
+              ? Criteria.where(NoteFields.CREATED_DATE).gt(cursor.createdDate())
+              : Criteria.where(NoteFields.CREATED_DATE).lt(cursor.createdDate()),
+          direction.isAscending()
+              ? Criteria.where(NoteFields.ID).gt(id)
+              : Criteria.where(NoteFields.ID).lt(id)));
+    }
+  }
+
+  /**
+   * Replaces a compressed text with its inflated plain text, for documents read without the
+   * entity callbacks.
+   */
+  private void inflateText(Document document) {
+    if (document.remove(NoteFields.COMPRESSED_TEXT) instanceof Binary compressed) {
+      document.put(NoteFields.TEXT, textCompressor.decompress(compressed.getData(),
+          document.getString(NoteFields.TEXT_CODEC)));
+      document.remove(NoteFields.TEXT_CODEC);
+    }
+  }
+
+  /**
+   * Converts a note ID into the representation stored in {@code _id}, mirroring the conversion the
+   * entity mapping applies to String identifiers.
+   */
+  private Object toMongoId(String id) {
+    return mongoTemplate.getConverter().convertId(id, ObjectId.class);
+  }
+}
@@ -0,0 +1,92 @@
+package com.antond.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Position in the sequence of note changes sorted by modification time, handed to syncing clients
+ * as an opaque token. The next sync returns the changes following it. Changes are ordered by their
+ * modification time and note ID, so a position either points right after a change, or, once a
+ * client has caught up, at a point in time before which every change has been seen. The token also
+ * records when it was issued: a client holding it has seen every deletion up to that moment, which
+ * is what decides whether the tombstones it still needs have expired, however old the position is.
+ *
+ * @param lastModified the modification time of the last change seen, or the time up to which all
+ *                     changes have been seen
+ * @param id           the identifier of the note of the last change seen, or null if all changes
+ *                     before {@code lastModified} have been seen
+ * @param issuedAt     the time the token was handed to the client
+ */
+public record NoteSyncToken(LocalDateTime lastModified, String id, LocalDateTime issuedAt) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Creates the position right after a change.
+   *
+   * @param change   the last change returned to the client
+   * @param issuedAt the time the token is handed to the client
+   * @return the position following the change
+   */
+  public static NoteSyncToken after(NoteChange change, LocalDateTime issuedAt) {
+    return new NoteSyncToken(change.lastModified(), change.id(), issuedAt);
+  }
+
+  /**
+   * Creates the position of a client that has seen every change made before the given time.
+   *
+   * @param time     the time up to which all changes have been seen
+   * @param issuedAt the time the token is handed to the client
+   * @return the position at the given time
+   */
+  public static NoteSyncToken at(LocalDateTime time, LocalDateTime issuedAt) {
+    return new NoteSyncToken(time, null, issuedAt);
+  }
+
+  /**
+   * Restores a position from its token. Tokens issued before the issue time was recorded are taken
+   * to have been issued at their position, which is the earliest time they can have been issued.
+   *
+   * @param token the token created by {@link #encode()}
+   * @return the decoded position
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static NoteSyncToken decode(String token) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = value.split(Pattern.quote(SEPARATOR), -1);
+      if (parts.length < 2 || parts.length > 3) {
+        throw new IllegalArgumentException("Invalid sync token");
+      }
+      LocalDateTime lastModified = LocalDateTime.parse(parts[0]);
+      return new NoteSyncToken(lastModified, parts[1].isEmpty() ? null : parts[1],
+          parts.length == 3 ? LocalDateTime.parse(parts[2]) : lastModified);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid sync token", e);
+    }
+  }
+
+  /**
+   * Returns the same position, handed to the client again at a later time.
+   *
+   * @param time the time the token is handed to the client
+   * @return the position with the new issue time
+   */
+  public NoteSyncToken reissuedAt(LocalDateTime time) {
+    return new NoteSyncToken(lastModified, id, time);
+  }
+
+  /**
+   * Encodes this position into an opaque, URL safe token.
+   *
+   * @return the token
+   */
+  public String encode() {
+    String value = lastModified + SEPARATOR + (id != null ? id : "") + SEPARATOR + issuedAt;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
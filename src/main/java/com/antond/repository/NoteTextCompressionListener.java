@@ -0,0 +1,69 @@
+package com.antond.repository;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.NoteFields;
+import com.antond.entity.Note;
+import com.antond.utils.TextCompressor;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mongo lifecycle listener that transparently compresses large note texts at rest. When compression
+ * is enabled, texts above the configured size are replaced by a binary field and a codec marker
+ * right before the document is written. Compressed documents are inflated back into the
+ * {@code text} field as soon as they are loaded, before entity conversion, which means queries that
+ * project the text away never pay for decompression.
+ */
+@Component
+@RequiredArgsConstructor
+public class NoteTextCompressionListener extends AbstractMongoEventListener<Note> {
+
+  private final NotebookProperties properties;
+  private final TextCompressor textCompressor;
+
+  /**
+   * Replaces the plain text of the document about to be saved with its compressed form if
+   * compression is enabled and the text is large enough to benefit from it.
+   *
+   * @param event the event carrying the document that is about to be written
+   */
+  @Override
+  public void onBeforeSave(BeforeSaveEvent<Note> event) {
+    NotebookProperties.Compression compression = properties.getStorage().getCompression();
+    Document document = event.getDocument();
+    if (!compression.isEnabled() || document == null
+        || !(document.get(NoteFields.TEXT) instanceof String text)) {
+      return;
+    }
+
+    byte[] compressed = textCompressor.compress(text, compression.getMinSize(),
+        compression.getLevel());
+    if (compressed != null) {
+      document.remove(NoteFields.TEXT);
+      document.put(NoteFields.COMPRESSED_TEXT, new Binary(compressed));
+      document.put(NoteFields.TEXT_CODEC, TextCompressor.DEFLATE_CODEC);
+    }
+  }
+
+  /**
+   * Restores the plain text of a loaded document that was stored compressed. Documents written
+   * while compression was enabled are always readable, even after it has been switched off.
+   *
+   * @param event the event carrying the raw document as read from the database
+   */
+  @Override
+  public void onAfterLoad(AfterLoadEvent<Note> event) {
+    Document document = event.getDocument();
+    if (document != null && document.get(NoteFields.COMPRESSED_TEXT) instanceof Binary binary) {
+      document.put(NoteFields.TEXT, textCompressor.decompress(binary.getData(),
+          document.getString(NoteFields.TEXT_CODEC)));
+      document.remove(NoteFields.COMPRESSED_TEXT);
+      document.remove(NoteFields.TEXT_CODEC);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.antond.repository;
+
+import com.antond.entity.NoteWordStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the precomputed word statistics of notes, stored in the
+ * {@code note_word_stats} collection under the identifier of their note.
+ */
+@Repository
+public interface NoteWordStatsRepository extends MongoRepository<NoteWordStats, String>,
+    NoteWordStatsRepositoryCustom {
+
+}
@@ -0,0 +1,39 @@
+package com.antond.repository;
+
+import com.antond.entity.NoteWordStats;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom repository fragment for incremental updates of word statistics. Implemented by
+ * {@link NoteWordStatsRepositoryCustomImpl} on top of MongoTemplate.
+ */
+public interface NoteWordStatsRepositoryCustom {
+
+  /**
+   * Loads the chunk layout of the stored word statistics of a note, without the totals, whose size
+   * grows with the vocabulary of the note.
+   *
+   * @param id the identifier of the note
+   * @return the statistics without totals, or empty if none are stored
+   */
+  Optional<NoteWordStats> findLayoutById(String id);
+
+  /**
+   * Adjusts stored word statistics to an edited text, provided they still describe the text
+   * before the edit. Only the changed counts are sent to the database, which applies them with
+   * {@code $inc}.
+   *
+   * @param id             the identifier of the note
+   * @param expectedDigest the digest of the text before the edit
+   * @param digest         the digest of the text after the edit
+   * @param chunks         the chunk hashes of the text after the edit
+   * @param chunkLengths   the chunk lengths of the text after the edit
+   * @param delta          the change of the count of every affected word
+   * @return true if the statistics were adjusted, false if none are stored or they describe
+   *         another text
+   */
+  boolean applyDelta(String id, String expectedDigest, String digest, List<String> chunks,
+      List<Integer> chunkLengths, Map<String, Long> delta);
+}
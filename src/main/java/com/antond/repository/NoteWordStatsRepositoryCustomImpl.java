@@ -0,0 +1,42 @@
+package com.antond.repository;
+
+import com.antond.entity.NoteWordStats;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * MongoTemplate based implementation of {@link NoteWordStatsRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class NoteWordStatsRepositoryCustomImpl implements NoteWordStatsRepositoryCustom {
+
+  private static final String DIGEST = "digest";
+  private static final String CHUNKS = "chunks";
+  private static final String CHUNK_LENGTHS = "chunkLengths";
+  private static final String TOTALS = "totals";
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public Optional<NoteWordStats> findLayoutById(String id) {
+    Query query = new Query(Criteria.where("id").is(id));
+    query.fields().exclude(TOTALS);
+    return Optional.ofNullable(mongoTemplate.findOne(query, NoteWordStats.class));
+  }
+
+  @Override
+  public boolean applyDelta(String id, String expectedDigest, String digest, List<String> chunks,
+      List<Integer> chunkLengths, Map<String, Long> delta) {
+    Query query = new Query(Criteria.where("id").is(id).and(DIGEST).is(expectedDigest));
+    Update update = new Update().set(DIGEST, digest).set(CHUNKS, chunks)
+        .set(CHUNK_LENGTHS, chunkLengths);
+    delta.forEach((word, change) -> update.inc(TOTALS + "." + word, change));
+    return mongoTemplate.updateFirst(query, update, NoteWordStats.class).getMatchedCount() > 0;
+  }
+}
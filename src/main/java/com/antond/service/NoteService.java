@@ -1,22 +1,70 @@
 package com.antond.service;
 
+import com.antond.cache.FirstPageCache;
+import com.antond.cache.NoteIdFilter;
+import com.antond.config.NotebookProperties;
+import com.antond.constants.NoteFields;
 import com.antond.constants.Tag;
 import com.antond.dto.request.CreateNoteRequest;
+import com.antond.dto.request.NotePatchRequest;
 import com.antond.dto.request.UpdateNoteRequest;
+import com.antond.dto.response.NoteSyncResponse;
+import com.antond.dto.response.NoteTextSlice;
 import com.antond.entity.Note;
+import com.antond.event.NoteChangedEvent;
 import com.antond.exception.NoteNotFoundException;
+import com.antond.exception.RangeNotSatisfiableException;
+import com.antond.jfr.NoteOperationEvent;
+import com.antond.jfr.NoteOperationEvent.Operation;
+import com.antond.jfr.WordStatsEvent;
+import com.antond.repository.NoteChange;
+import com.antond.repository.NoteFilter;
+import com.antond.repository.NoteProjection;
 import com.antond.repository.NoteRepository;
+import com.antond.repository.NoteSyncToken;
+import com.antond.timing.RequestTiming;
+import com.antond.utils.SingleFlight;
 import com.antond.utils.TextUtils;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 /**
  * Service class containing business logic for note operations. This service acts as an intermediary
  * between controllers and the repository, handling business rules, validation, and coordinating
- * data access operations.
+ * data access operations. Concurrent reads and word statistics computations for the same note are
+ * coalesced, so a burst of identical requests costs a single database read. Every write publishes a
+ * {@link NoteChangedEvent}, and first pages of list queries are served from the
+ * {@link FirstPageCache} that these events keep current. Lookups of IDs that the
+ * {@link NoteIdFilter} knows not to exist fail without touching the database.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +72,14 @@ public class NoteService {
 
   private final NoteRepository noteRepository;
   public final TextUtils textUtils;
+  private final NotebookProperties properties;
+  private final FirstPageCache firstPageCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final NoteWordStatsService wordStatsService;
+  private final NoteIdFilter noteIdFilter;
+  private final ExecutorService statsExecutor;
+  private final SingleFlight<String, Optional<Note>> noteReads = new SingleFlight<>();
+  private final SingleFlight<String, Map<String, Long>> statsComputations = new SingleFlight<>();
 
   /**
    * Creates a new note with the provided request data. The note is built from the request and
@@ -33,72 +89,359 @@ public class NoteService {
    * @return the newly created and persisted Note entity
    */
   public Note createNote(CreateNoteRequest request) {
-    System.out.println("about to save note");
+    NoteOperationEvent event = NoteOperationEvent.start(Operation.CREATE);
     Note note = Note.builder()
         .title(request.getTitle())
         .text(request.getText())
         .tags(request.getTags())
         .build();
-    System.out.println("attempt to save note");
-    return noteRepository.save(note);
+    Note savedNote = noteRepository.save(note);
+    eventPublisher.publishEvent(NoteChangedEvent.created(savedNote));
+    event.finish(savedNote.getId(), savedNote);
+    return savedNote;
   }
 
   /**
-   * Retrieves a note by its unique identifier.
+   * Retrieves a note by its unique identifier, falling back to the archive if the note is not in
+   * the hot collection. Concurrent calls for the same ID share one database read.
    *
    * @param id the unique identifier of the note to retrieve
    * @return the found Note entity
    * @throws NoteNotFoundException if no note exists with the given ID
    */
   public Note getNoteById(String id) {
-    return noteRepository.findById(id)
+    NoteOperationEvent event = NoteOperationEvent.start(Operation.READ);
+    requireMightExist(id);
+    Note note = noteReads.execute(id, () -> noteRepository.findById(id)
+            .or(() -> noteRepository.findArchivedById(id, NoteProjection.FULL)))
         .orElseThrow(() -> new NoteNotFoundException(id));
+    event.finish(id, note);
+    return note;
   }
 
   /**
    * Calculates and returns word statistics for a specific note. Statistics include word count,
-   * character count, and other text metrics.
+   * character count, and other text metrics. They are maintained incrementally by
+   * {@link NoteWordStatsService} and only computed from scratch for notes that have none yet.
+   * Concurrent calls for the same ID share one computation.
    *
    * @param id the unique identifier of the note to analyze
    * @return a map of statistic words to their calculated values
    * @throws NoteNotFoundException if no note exists with the given ID
    */
   public Map<String, Long> getNoteStatsById(String id) {
-    Note note = noteRepository.findById(id)
+    return statsComputations.execute(id,
+        () -> wordStatsService.getWordStats(getNoteById(id)));
+  }
+
+  /**
+   * Calculates the word statistics of several notes in parallel on the statistics executor. At
+   * most one note per core is computed at a time for a single call, so concurrent batches share the
+   * executor fairly. Results are handed to the consumer on the calling thread, in the order the
+   * computations complete.
+   *
+   * @param notes    the notes, including their texts
+   * @param total    whether to merge the statistics of all notes into a total
+   * @param consumer receives the ID and the word statistics of every note
+   * @return the merged statistics of all notes if a total was asked for, otherwise null
+   */
+  public Map<String, Long> calculateStatsBatch(Collection<Note> notes, boolean total,
+      BiConsumer<String, Map<String, Long>> consumer) {
+    CompletionService<NoteWordCounts> completion =
+        new ExecutorCompletionService<>(statsExecutor);
+    List<Future<NoteWordCounts>> submitted = new ArrayList<>(notes.size());
+    Iterator<Note> pending = notes.iterator();
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    Map<String, Long> totals = total ? new LinkedHashMap<>() : null;
+
+    try {
+      int running = 0;
+      for (; running < parallelism && pending.hasNext(); running++) {
+        submitted.add(completion.submit(wordCounts(pending.next())));
+      }
+      while (running > 0) {
+        NoteWordCounts result = completion.take().get();
+        running--;
+        if (pending.hasNext()) {
+          submitted.add(completion.submit(wordCounts(pending.next())));
+          running++;
+        }
+        consumer.accept(result.noteId(), result.stats());
+        if (totals != null) {
+          result.stats().forEach((word, count) -> totals.merge(word, count, Long::sum));
+        }
+      }
+      return totals;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while calculating word statistics", e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException cause
+          ? cause
+          : new IllegalStateException(e.getCause());
+    } finally {
+      submitted.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Retrieves a note by its unique identifier, reading only the requested fields. Like
+   * {@link #getNoteById(String)}, it falls back to the archive.
+   *
+   * @param id         the unique identifier of the note to retrieve
+   * @param projection the fields to read
+   * @return the found Note entity with only the projected fields set
+   * @throws NoteNotFoundException if no note exists with the given ID
+   */
+  public Note getNoteById(String id, NoteProjection projection) {
+    if (projection.isFull()) {
+      return getNoteById(id);
+    }
+    NoteOperationEvent event = NoteOperationEvent.start(Operation.READ);
+    requireMightExist(id);
+    Note note = noteRepository.findProjectedById(id, projection)
+        .or(() -> noteRepository.findArchivedById(id, projection))
         .orElseThrow(() -> new NoteNotFoundException(id));
+    event.finish(id, note);
+    return note;
+  }
 
-    return textUtils.calculateWordStats(note.getText());
+  /**
+   * Retrieves several notes by their identifiers, hot or archived, with a single database query.
+   * IDs that the {@link NoteIdFilter} knows not to exist are not queried.
+   *
+   * @param ids        the unique identifiers of the notes to retrieve; duplicates are ignored
+   * @param projection the fields to read
+   * @return the found notes keyed by their ID normalized with {@link #normalizeId(String)}, in the
+   *         order the IDs were requested; IDs without a note are left out
+   * @throws IllegalArgumentException if no IDs or more than the configured maximum are requested
+   */
+  public Map<String, Note> getNotesByIds(List<String> ids, NoteProjection projection) {
+    int maxIds = properties.getBatch().getMaxIds();
+    if (ids.isEmpty() || ids.size() > maxIds) {
+      throw new IllegalArgumentException("Between 1 and " + maxIds + " IDs must be requested");
+    }
+
+    Set<String> requested = new LinkedHashSet<>();
+    for (String id : ids) {
+      String normalized = normalizeId(id);
+      if (noteIdFilter.mightExist(normalized)) {
+        requested.add(normalized);
+      }
+    }
+    if (requested.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<String, Note> found = new HashMap<>();
+    for (Note note : noteRepository.findAllByIds(requested, projection)) {
+      found.put(note.getId(), note);
+    }
+    Map<String, Note> notes = new LinkedHashMap<>();
+    for (String id : requested) {
+      Note note = found.get(id);
+      if (note != null) {
+        if (!projection.includes(NoteProjection.ID)) {
+          note.setId(null);
+        }
+        notes.put(id, note);
+      }
+    }
+    return notes;
+  }
+
+  /**
+   * Normalizes a note ID to the form notes are read back with. Valid ObjectIds are matched
+   * case-insensitively by the database but always read back in lowercase, so upper-case variants
+   * are lowercased; other IDs are returned unchanged.
+   *
+   * @param id the ID as sent by a client
+   * @return the canonical form of the ID
+   */
+  public static String normalizeId(String id) {
+    return ObjectId.isValid(id) ? id.toLowerCase(Locale.ROOT) : id;
+  }
+
+  /**
+   * Retrieves a part of a note's text without loading the full text. Offsets and lengths are
+   * counted in Unicode code points.
+   *
+   * @param id     the unique identifier of the note
+   * @param offset the index of the first code point to return
+   * @param length the maximum number of code points to return; if null, the configured maximum
+   *               slice length is used
+   * @return the requested slice together with the total length of the text
+   * @throws NoteNotFoundException        if no note exists with the given ID
+   * @throws RangeNotSatisfiableException if the offset lies beyond the end of a non-empty text
+   * @throws IllegalArgumentException     if the offset is negative or the length is out of range
+   */
+  public NoteTextSlice getNoteTextSlice(String id, int offset, Integer length) {
+    int maxSliceLength = properties.getText().getMaxSliceLength();
+    int sliceLength = length != null ? length : maxSliceLength;
+    if (offset < 0) {
+      throw new IllegalArgumentException("Offset must not be negative");
+    }
+    if (sliceLength < 1 || sliceLength > maxSliceLength) {
+      throw new IllegalArgumentException("Length must be between 1 and " + maxSliceLength);
+    }
+    requireMightExist(id);
+
+    NoteTextSlice slice = noteRepository.findTextSlice(id, offset, sliceLength)
+        .orElseThrow(() -> new NoteNotFoundException(id));
+    if (offset > 0 && offset >= slice.getTotalLength()) {
+      throw new RangeNotSatisfiableException(offset, slice.getTotalLength());
+    }
+    return slice;
+  }
+
+  /**
+   * Retrieves the notes written and deleted since a previous sync, in batches ordered by
+   * modification time, so that a client catching up after a disconnect only downloads what changed.
+   * Changes younger than the configured settle delay are left for the next sync. A token issued
+   * longer ago than the tombstone retention can no longer be continued from, as deletions made
+   * since might have been forgotten; the sync then starts from scratch and the response is flagged
+   * as a reset. How old the changes the token points at are does not matter.
+   *
+   * @param token the token returned by the previous sync, or null for a first sync
+   * @param limit the maximum number of changes to return; if null, the configured maximum is used
+   * @return the changed notes, the deleted note IDs and the token for the next sync
+   * @throws IllegalArgumentException if the token is malformed or the limit is out of range
+   */
+  public NoteSyncResponse getChangesSince(String token, Integer limit) {
+    NotebookProperties.Sync sync = properties.getSync();
+    int batchSize = limit != null ? limit : sync.getMaxBatchSize();
+    if (batchSize < 1 || batchSize > sync.getMaxBatchSize()) {
+      throw new IllegalArgumentException("Limit must be between 1 and "
+          + sync.getMaxBatchSize());
+    }
+    NoteSyncToken after = token != null ? NoteSyncToken.decode(token) : null;
+    LocalDateTime now = LocalDateTime.now();
+    boolean reset = after != null
+        && after.issuedAt().isBefore(now.minus(sync.getTombstoneRetention()));
+    if (reset) {
+      after = null;
+    }
+
+    LocalDateTime settled = now.minus(sync.getSettleDelay());
+    List<NoteChange> changes = noteRepository.findChangesSince(after, settled, batchSize);
+    Map<String, Note> notes = new LinkedHashMap<>();
+    Set<String> deleted = new LinkedHashSet<>();
+    for (NoteChange change : changes) {
+      if (change.isDeleted()) {
+        deleted.add(change.id());
+      } else {
+        notes.putIfAbsent(change.id(), change.note());
+      }
+    }
+
+    // A full batch may be followed by more changes; otherwise everything before settled was seen.
+    boolean hasMore = changes.size() == batchSize;
+    NoteSyncToken next;
+    if (hasMore) {
+      next = NoteSyncToken.after(changes.getLast(), now);
+    } else if (after != null && after.lastModified().isAfter(settled)) {
+      next = after.reissuedAt(now);
+    } else {
+      next = NoteSyncToken.at(settled, now);
+    }
+    return NoteSyncResponse.builder()
+        .notes(List.copyOf(notes.values()))
+        .deleted(List.copyOf(deleted))
+        .nextToken(next.encode())
+        .hasMore(hasMore)
+        .reset(reset)
+        .build();
+  }
+
+  /**
+   * Calculates word statistics for an arbitrary text without storing it. The text is consumed
+   * incrementally from the reader, so arbitrarily large inputs can be analyzed as long as their
+   * vocabulary and their longest word stay within the configured caps.
+   *
+   * @param reader the source of the text to analyze
+   * @return a map of words to their occurrence counts
+   * @throws com.antond.exception.VocabularyLimitExceededException if the text contains more
+   *                                                               distinct words than allowed
+   * @throws com.antond.exception.WordLengthExceededException      if the text contains a word
+   *                                                               longer than allowed
+   */
+  public Map<String, Long> calculateTextStats(Reader reader) {
+    long start = System.nanoTime();
+    WordStatsEvent event = WordStatsEvent.start(WordStatsEvent.Mode.AD_HOC);
+    try {
+      Map<String, Long> stats = textUtils.calculateWordStats(reader,
+          properties.getStats().getMaxVocabulary(), properties.getStats().getMaxWordLength());
+      event.finish(null, -1, stats);
+      return stats;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      RequestTiming.record(RequestTiming.Phase.STATS, start);
+    }
   }
 
   /**
    * Retrieves all notes with pagination support, ordered by creation date descending.
    *
-   * @param pageable the pagination information including page number and size
+   * @param pageable   the pagination information including page number and size
+   * @param projection the fields to read
    * @return a paginated list of notes sorted by creation date (newest first)
    */
-  public List<Note> getAllNotes(Pageable pageable) {
-    return noteRepository.findAllByOrderByCreatedDateDesc(pageable);
+  public List<Note> getAllNotes(Pageable pageable, NoteProjection projection) {
+    return getNotes(NoteFilter.builder().build(), pageable, projection);
+  }
+
+  /**
+   * Streams the raw documents of the notes matching a filter straight from the database cursor.
+   * Nothing is collected in memory, which keeps large pages cheap to serve.
+   *
+   * @param filter     the criteria notes have to match
+   * @param pageable   the pagination information including page number and size
+   * @param projection the fields to read
+   * @param consumer   receives every matching document in order
+   */
+  public void streamNotes(NoteFilter filter, Pageable pageable, NoteProjection projection,
+      Consumer<Document> consumer) {
+    noteRepository.streamNotes(filter, pageable, projection, consumer);
   }
 
   /**
    * Retrieves notes filtered by specified tags with pagination. If the tags list is empty, returns
    * all notes (same as getAllNotes).
    *
-   * @param tags     the list of tags to filter by; notes must contain ALL specified tags
-   * @param pageable the pagination information including page number, size and sorting order
+   * @param tags       the list of tags to filter by; notes must contain ALL specified tags
+   * @param pageable   the pagination information including page number, size and sorting order
+   * @param projection the fields to read
    * @return a paginated list of notes matching the tag filter, or all notes if tags is empty
    */
-  public List<Note> getNotesByTag(List<Tag> tags, Pageable pageable) {
+  public List<Note> getNotesByTag(List<Tag> tags, Pageable pageable, NoteProjection projection) {
     if (!tags.isEmpty()) {
-      return noteRepository.findByTagsContainingAll(tags, pageable);
+      return getNotes(NoteFilter.builder().allTags(tags).build(), pageable, projection);
     } else {
-      return this.getAllNotes(pageable);
+      return this.getAllNotes(pageable, projection);
     }
   }
 
+  /**
+   * Retrieves the notes matching a filter with pagination. First pages in the default order are
+   * served from the {@link FirstPageCache} when the filter allows it.
+   *
+   * @param filter     the criteria notes have to match
+   * @param pageable   the pagination information including page number, size and sorting order
+   * @param projection the fields to read
+   * @return a paginated list of notes matching the filter
+   */
+  public List<Note> getNotes(NoteFilter filter, Pageable pageable, NoteProjection projection) {
+    if (firstPageCache.supports(filter, pageable)) {
+      return firstPageCache.getFirstPage(filter.getAllTags(), pageable.getPageSize(), projection);
+    }
+    return noteRepository.findNotes(filter, pageable, projection);
+  }
+
   /**
    * Updates an existing note with partial data from the update request. Only non-null fields in the
-   * request will be updated; null fields preserve existing values.
+   * request will be updated; null fields preserve existing values. An archived note is moved back
+   * to the hot collection.
    *
    * @param id      the unique identifier of the note to update
    * @param request the UpdateNoteRequest containing the fields to update
@@ -106,32 +449,184 @@ public class NoteService {
    * @throws NoteNotFoundException if no note exists with the given ID
    */
   public Note updateNote(String id, UpdateNoteRequest request) {
-    return noteRepository.findById(id)
-        .map(existingNote -> {
-          if (request.getTitle() != null) {
-            existingNote.setTitle(request.getTitle());
-          }
-          if (request.getText() != null) {
-            existingNote.setText(request.getText());
-          }
-          if (request.getTags() != null) {
-            existingNote.setTags(request.getTags());
-          }
-          return noteRepository.save(existingNote);
-        })
+    NoteOperationEvent event = NoteOperationEvent.start(Operation.UPDATE);
+    requireMightExist(id);
+    Optional<Note> hotNote = noteRepository.findById(id);
+    Note existingNote = hotNote
+        .or(() -> noteRepository.findArchivedById(id, NoteProjection.FULL))
         .orElseThrow(() -> new NoteNotFoundException(id));
+    String previousText = existingNote.getText();
+
+    if (request.getTitle() != null) {
+      existingNote.setTitle(request.getTitle());
+    }
+    if (request.getText() != null) {
+      existingNote.setText(request.getText());
+    }
+    if (request.getTags() != null) {
+      existingNote.setTags(request.getTags());
+    }
+    existingNote.setLastModified(LocalDateTime.now());
+    Note savedNote = noteRepository.save(existingNote);
+    if (hotNote.isEmpty()) {
+      noteRepository.deleteArchivedById(id);
+    }
+    if (request.getText() != null && !request.getText().equals(previousText)) {
+      wordStatsService.onTextChanged(id, previousText, savedNote.getText());
+    }
+    eventPublisher.publishEvent(NoteChangedEvent.updated(savedNote));
+    event.finish(id, savedNote);
+    return savedNote;
   }
 
   /**
-   * Deletes a note by its unique identifier. Verifies the note exists before attempting deletion to
-   * ensure proper error handling.
+   * Applies a JSON Merge Patch to a note. Patches that leave the text alone are applied in place
+   * with {@code $set}, so that neither the text nor the fields not patched are transferred; patches
+   * of the text, and patches of archived notes, are applied like {@link #updateNote}.
+   *
+   * @param id    the unique identifier of the note to patch
+   * @param patch the fields to replace
+   * @return the note with only its ID, its modification time and the patched fields set
+   * @throws NoteNotFoundException if no note exists with the given ID
+   */
+  public Note patchNote(String id, NotePatchRequest patch) {
+    Set<String> fields = patch.getFields();
+    if (fields.isEmpty()) {
+      return changedFields(getNoteById(id, NoteProjection.forNote(List.of(NoteProjection.ID))),
+          fields);
+    }
+    List<Tag> tags = fields.contains(NoteFields.TAGS) && patch.getTags() == null
+        ? List.of() : patch.getTags();
+    UpdateNoteRequest request = UpdateNoteRequest.builder()
+        .title(patch.getTitle())
+        .text(patch.getText())
+        .tags(tags)
+        .build();
+    if (fields.contains(NoteFields.TEXT)) {
+      return changedFields(updateNote(id, request), fields);
+    }
+
+    Update update = new Update();
+    if (fields.contains(NoteFields.TITLE)) {
+      update.set(NoteFields.TITLE, patch.getTitle());
+    }
+    if (fields.contains(NoteFields.TAGS)) {
+      update.set(NoteFields.TAGS, tags);
+    }
+    return changedFields(updateFields(id, update, archived -> request), fields);
+  }
+
+  /**
+   * Adds a tag to a note with {@code $addToSet}, without reading or writing its text. Adding a tag
+   * the note already carries changes nothing but its modification time.
+   *
+   * @param id  the unique identifier of the note
+   * @param tag the tag to add
+   * @return the note with only its ID, its modification time and its tags set
+   * @throws NoteNotFoundException if no note exists with the given ID
+   */
+  public Note addTag(String id, Tag tag) {
+    Note note = updateFields(id, new Update().addToSet(NoteFields.TAGS, tag), archived -> {
+      List<Tag> tags = archived.getTags() != null
+          ? new ArrayList<>(archived.getTags()) : new ArrayList<>();
+      if (!tags.contains(tag)) {
+        tags.add(tag);
+      }
+      return UpdateNoteRequest.builder().tags(tags).build();
+    });
+    return changedFields(note, Set.of(NoteFields.TAGS));
+  }
+
+  /**
+   * Removes a tag from a note with {@code $pull}, without reading or writing its text.
+   *
+   * @param id  the unique identifier of the note
+   * @param tag the tag to remove
+   * @return the note with only its ID, its modification time and its tags set
+   * @throws NoteNotFoundException if no note exists with the given ID
+   */
+  public Note removeTag(String id, Tag tag) {
+    Note note = updateFields(id, new Update().pull(NoteFields.TAGS, tag), archived -> {
+      List<Tag> tags = archived.getTags() != null
+          ? new ArrayList<>(archived.getTags()) : new ArrayList<>();
+      tags.remove(tag);
+      return UpdateNoteRequest.builder().tags(tags).build();
+    });
+    return changedFields(note, Set.of(NoteFields.TAGS));
+  }
+
+  /**
+   * Deletes a note by its unique identifier, from the hot collection or from the archive. Verifies
+   * the note exists before attempting deletion to ensure proper error handling. A tombstone is
+   * recorded so that syncing clients learn about the deletion.
    *
    * @param id the unique identifier of the note to delete
    * @throws NoteNotFoundException if no note exists with the given ID
    */
   public void deleteNote(String id) {
-    noteRepository.findById(id)
-        .orElseThrow(() -> new NoteNotFoundException(id));
-    noteRepository.deleteById(id);
+    NoteOperationEvent event = NoteOperationEvent.start(Operation.DELETE);
+    requireMightExist(id);
+    if (noteRepository.findById(id).isPresent()) {
+      noteRepository.deleteById(id);
+    } else if (!noteRepository.deleteArchivedById(id)) {
+      throw new NoteNotFoundException(id);
+    }
+    noteRepository.saveTombstone(id, LocalDateTime.now());
+    wordStatsService.delete(id);
+    eventPublisher.publishEvent(NoteChangedEvent.deleted(id));
+    event.finish(id, null);
+  }
+
+  /**
+   * Applies an update in place to a note of the hot collection and stamps its modification time.
+   * Archived notes cannot be updated in place; they are updated through {@link #updateNote}, with
+   * the request the given function derives from the archived note, which moves them back.
+   */
+  private Note updateFields(String id, Update update,
+      Function<Note, UpdateNoteRequest> archivedUpdate) {
+    NoteOperationEvent event = NoteOperationEvent.start(Operation.UPDATE);
+    requireMightExist(id);
+    Optional<Note> updated = noteRepository.updateFields(id,
+        update.set(NoteFields.LAST_MODIFIED, LocalDateTime.now()));
+    if (updated.isEmpty()) {
+      Note archived = noteRepository.findArchivedById(id, NoteProjection.FULL)
+          .orElseThrow(() -> new NoteNotFoundException(id));
+      return updateNote(id, archivedUpdate.apply(archived));
+    }
+    Note note = updated.get();
+    eventPublisher.publishEvent(NoteChangedEvent.updated(note));
+    event.finish(id, note);
+    return note;
+  }
+
+  private static Note changedFields(Note note, Set<String> fields) {
+    return Note.builder()
+        .id(note.getId())
+        .title(fields.contains(NoteFields.TITLE) ? note.getTitle() : null)
+        .text(fields.contains(NoteFields.TEXT) ? note.getText() : null)
+        .tags(fields.contains(NoteFields.TAGS) ? note.getTags() : null)
+        .createdDate(null)
+        .lastModified(note.getLastModified())
+        .build();
+  }
+
+  private void requireMightExist(String id) {
+    if (!noteIdFilter.mightExist(id)) {
+      throw new NoteNotFoundException(id);
+    }
+  }
+
+  private Callable<NoteWordCounts> wordCounts(Note note) {
+    return () -> {
+      WordStatsEvent event = WordStatsEvent.start(WordStatsEvent.Mode.COMPUTED);
+      String text = note.getText() != null ? note.getText() : "";
+      Map<String, Long> stats = textUtils.calculateWordStats(text);
+      event.finish(note.getId(), text.length(), stats);
+      return new NoteWordCounts(note.getId(), stats);
+    };
+  }
+
+  private record NoteWordCounts(String noteId, Map<String, Long> stats) {
+
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.antond.service;
+
+import com.antond.entity.Note;
+import com.antond.entity.NoteWordStats;
+import com.antond.jfr.WordStatsEvent;
+import com.antond.repository.NoteWordStatsRepository;
+import com.antond.timing.RequestTiming;
+import com.antond.utils.TextChunk;
+import com.antond.utils.TextChunker;
+import com.antond.utils.TextUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the word statistics of notes incrementally. Statistics are computed per chunk of the
+ * text (see {@link TextChunker}) and stored as totals together with the chunk hashes. When a text
+ * is edited, only the chunks that were removed or added are tokenized, and their difference is
+ * applied to the stored totals; tokenizing after an edit of a huge note therefore costs time
+ * proportional to the edit rather than to the note. Splitting and hashing the new text, and
+ * hashing the text on reads to check the digest, are still proportional to the note. Stored
+ * statistics are only trusted while their digest matches the current text, so statistics that
+ * missed an edit are rebuilt on the next read.
+ */
+@Service
+@RequiredArgsConstructor
+public class NoteWordStatsService {
+
+  private final NoteWordStatsRepository statsRepository;
+  private final TextChunker textChunker;
+  private final TextUtils textUtils;
+
+  /**
+   * Returns the word statistics of a note, computing and storing them if none are stored for the
+   * current text.
+   *
+   * @param note the note, including its text
+   * @return a map of words to their occurrence counts
+   */
+  public Map<String, Long> getWordStats(Note note) {
+    WordStatsEvent event = WordStatsEvent.start(WordStatsEvent.Mode.STORED);
+    long start = System.nanoTime();
+    String text = note.getText() != null ? note.getText() : "";
+    List<TextChunk> chunks = textChunker.split(text);
+    String digest = textChunker.digest(chunks);
+    RequestTiming.record(RequestTiming.Phase.STATS, start);
+
+    Optional<NoteWordStats> stored = statsRepository.findById(note.getId());
+    if (stored.isPresent() && digest.equals(stored.get().getDigest())) {
+      Map<String, Long> totals = new LinkedHashMap<>(stored.get().getTotals());
+      totals.values().removeIf(count -> count <= 0);
+      event.finish(note.getId(), text.length(), totals);
+      return totals;
+    }
+
+    event.setMode(WordStatsEvent.Mode.COMPUTED);
+    start = System.nanoTime();
+    Map<String, Long> totals = new LinkedHashMap<>();
+    for (TextChunk chunk : chunks) {
+      add(totals, textUtils.calculateWordStats(chunk.of(text)), 1);
+    }
+    RequestTiming.record(RequestTiming.Phase.STATS, start);
+    statsRepository.save(NoteWordStats.builder()
+        .id(note.getId())
+        .digest(digest)
+        .chunks(hashes(chunks))
+        .chunkLengths(lengths(chunks))
+        .totals(totals)
+        .build());
+    event.finish(note.getId(), text.length(), totals);
+    return totals;
+  }
+
+  /**
+   * Adjusts the stored word statistics of a note to an edit of its text. Nothing is done if no
+   * statistics are stored, as they are computed on the first read. The new text is split into
+   * chunks and matched against the stored chunk hashes; the previous text is neither split nor
+   * hashed again, only the chunks the edit removed are cut out of it, using the stored lengths, and
+   * checked against their hashes. Statistics that turn out not to describe the previous text are
+   * dropped and rebuilt on the next read.
+   *
+   * @param noteId  the identifier of the edited note
+   * @param oldText the text before the edit
+   * @param newText the text after the edit
+   */
+  public void onTextChanged(String noteId, String oldText, String newText) {
+    Optional<NoteWordStats> stored = statsRepository.findLayoutById(noteId);
+    if (stored.isEmpty()) {
+      return;
+    }
+
+    WordStatsEvent event = WordStatsEvent.start(WordStatsEvent.Mode.DELTA);
+    long start = System.nanoTime();
+    String previous = oldText != null ? oldText : "";
+    String current = newText != null ? newText : "";
+    List<TextChunk> newChunks = textChunker.split(current);
+    Map<String, Long> delta = delta(stored.get(), previous, current, newChunks);
+    RequestTiming.record(RequestTiming.Phase.STATS, start);
+
+    if (delta == null) {
+      statsRepository.deleteById(noteId);
+      return;
+    }
+    statsRepository.applyDelta(noteId, stored.get().getDigest(), textChunker.digest(newChunks),
+        hashes(newChunks), lengths(newChunks), delta);
+    event.finish(noteId, current.length(), delta);
+  }
+
+  /**
+   * Removes the stored word statistics of a note.
+   *
+   * @param noteId the identifier of the note
+   */
+  public void delete(String noteId) {
+    statsRepository.deleteById(noteId);
+  }
+
+  private static void add(Map<String, Long> totals, Map<String, Long> counts, int sign) {
+    counts.forEach((word, count) -> totals.merge(word, sign * count, Long::sum));
+  }
+
+  private static List<String> hashes(List<TextChunk> chunks) {
+    return chunks.stream().map(TextChunk::hash).toList();
+  }
+
+  private static List<Integer> lengths(List<TextChunk> chunks) {
+    return chunks.stream().map(chunk -> chunk.end() - chunk.start()).toList();
+  }
+
+  /**
+   * Computes the change of the word counts from the stored chunks of the previous text to the
+   * chunks of the current one. Chunks present in both cancel out; only the others are tokenized.
+   *
+   * @return the change of every affected word, or null if the stored layout is missing or does
+   *         not match the previous text
+   */
+  private Map<String, Long> delta(NoteWordStats stored, String previous, String current,
+      List<TextChunk> newChunks) {
+    List<String> oldHashes = stored.getChunks();
+    List<Integer> oldLengths = stored.getChunkLengths();
+    if (oldHashes == null || oldLengths == null || oldHashes.size() != oldLengths.size()) {
+      return null;
+    }
+
+    Map<String, Integer> unmatched = new HashMap<>();
+    oldHashes.forEach(hash -> unmatched.merge(hash, 1, Integer::sum));
+    List<TextChunk> added = new ArrayList<>();
+    for (TextChunk chunk : newChunks) {
+      if (unmatched.getOrDefault(chunk.hash(), 0) > 0) {
+        unmatched.merge(chunk.hash(), -1, Integer::sum);
+      } else {
+        added.add(chunk);
+      }
+    }
+
+    Map<String, Long> delta = new HashMap<>();
+    int offset = 0;
+    for (int i = 0; i < oldHashes.size(); i++) {
+      String hash = oldHashes.get(i);
+      int end = offset + oldLengths.get(i);
+      if (end > previous.length()) {
+        return null;
+      }
+      if (unmatched.getOrDefault(hash, 0) > 0) {
+        unmatched.merge(hash, -1, Integer::sum);
+        String removed = previous.substring(offset, end);
+        if (!hash.equals(textChunker.hash(removed))) {
+          return null;
+        }
+        add(delta, textUtils.calculateWordStats(removed), -1);
+      }
+      offset = end;
+    }
+    if (offset != previous.length()) {
+      return null;
+    }
+    for (TextChunk chunk : added) {
+      add(delta, textUtils.calculateWordStats(chunk.of(current)), 1);
+    }
+    delta.values().removeIf(change -> change == 0);
+    return delta;
+  }
+}
@@ -0,0 +1,24 @@
+package com.antond.timing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes the time of MongoDB commands to {@link RequestTiming.Phase#DB} of the request that
+ * issued them. The synchronous driver notifies command listeners on the calling thread, which is
+ * what binds a command to its request.
+ */
+public class MongoCommandTimingListener implements CommandListener {
+
+  @Override
+  public void commandSucceeded(CommandSucceededEvent event) {
+    RequestTiming.add(RequestTiming.Phase.DB, event.getElapsedTime(TimeUnit.NANOSECONDS));
+  }
+
+  @Override
+  public void commandFailed(CommandFailedEvent event) {
+    RequestTiming.add(RequestTiming.Phase.DB, event.getElapsedTime(TimeUnit.NANOSECONDS));
+  }
+}
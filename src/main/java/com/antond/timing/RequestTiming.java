@@ -0,0 +1,165 @@
+package com.antond.timing;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Per-request breakdown of where the time of a request went. The timing of the request being
+ * handled is bound to the handling thread by {@link ServerTimingFilter}; the instrumented code
+ * records its phases through the static methods, which do nothing when no timing is bound, for
+ * example for work done outside of a request. Time that is not attributed to any phase is reported
+ * as {@link Phase#APP}.
+ */
+public final class RequestTiming {
+
+  private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+  private final long startNanos = System.nanoTime();
+  private final long[] phaseNanos = new long[Phase.values().length];
+  private final boolean reported;
+  private long serializationStartNanos;
+  private long totalNanos = -1;
+
+  /**
+   * Phases of a request, in the order they are reported.
+   */
+  public enum Phase {
+    DB("db", "MongoDB"),
+    MAPPING("mapping", "Entity mapping"),
+    STATS("stats", "Word statistics"),
+    SERIALIZE("serialize", "Response serialization"),
+    APP("app", "Application");
+
+    private final String metric;
+    private final String description;
+
+    Phase(String metric, String description) {
+      this.metric = metric;
+      this.description = description;
+    }
+  }
+
+  RequestTiming(boolean reported) {
+    this.reported = reported;
+  }
+
+  /**
+   * Adds the time elapsed since {@code startNanos} to a phase of the current request.
+   *
+   * @param phase      the phase the time was spent in
+   * @param startNanos the {@link System#nanoTime()} at which the phase started
+   */
+  public static void record(Phase phase, long startNanos) {
+    add(phase, System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Adds a duration to a phase of the current request.
+   *
+   * @param phase the phase the time was spent in
+   * @param nanos the duration in nanoseconds
+   */
+  public static void add(Phase phase, long nanos) {
+    RequestTiming timing = CURRENT.get();
+    if (timing != null) {
+      timing.phaseNanos[phase.ordinal()] += nanos;
+    }
+  }
+
+  /**
+   * Marks the moment the handler returned and the response body started to be written. Everything
+   * from there until the request completes counts as {@link Phase#SERIALIZE}.
+   */
+  public static void markSerializationStart() {
+    RequestTiming timing = CURRENT.get();
+    if (timing != null && timing.serializationStartNanos == 0) {
+      timing.serializationStartNanos = System.nanoTime();
+    }
+  }
+
+  void bind() {
+    CURRENT.set(this);
+  }
+
+  static void unbind() {
+    CURRENT.remove();
+  }
+
+  boolean isReported() {
+    return reported;
+  }
+
+  /**
+   * Ends the timing. Must be called once, when the request has been handled completely.
+   */
+  void stop() {
+    long endNanos = System.nanoTime();
+    if (serializationStartNanos != 0) {
+      phaseNanos[Phase.SERIALIZE.ordinal()] += endNanos - serializationStartNanos;
+    }
+    totalNanos = endNanos - startNanos;
+    phaseNanos[Phase.APP.ordinal()] = Math.max(0, totalNanos - attributed(phaseNanos));
+  }
+
+  long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * Formats the breakdown as the value of a {@code Server-Timing} header, with durations in
+   * milliseconds. Phases that took no time are left out.
+   *
+   * @return the header value, ending with the total duration of the request
+   */
+  String toHeaderValue() {
+    return toHeaderValue(phaseNanos, totalNanos);
+  }
+
+  /**
+   * Formats the breakdown of the request up to now, for responses that are sent before the request
+   * completes. The body is still being written at this point, so no serialization time is
+   * reported; time spent writing it so far counts as application time.
+   *
+   * @return the header value, ending with the time elapsed since the request started
+   */
+  String toInterimHeaderValue() {
+    long[] nanos = phaseNanos.clone();
+    nanos[Phase.SERIALIZE.ordinal()] = 0;
+    long elapsedNanos = System.nanoTime() - startNanos;
+    nanos[Phase.APP.ordinal()] = Math.max(0, elapsedNanos - attributed(nanos));
+    return toHeaderValue(nanos, elapsedNanos);
+  }
+
+  @Override
+  public String toString() {
+    StringJoiner joiner = new StringJoiner(", ");
+    for (Phase phase : Phase.values()) {
+      joiner.add(String.format(Locale.ROOT, "%s=%.1fms", phase.metric,
+          phaseNanos[phase.ordinal()] / 1e6));
+    }
+    return joiner.toString();
+  }
+
+  private static long attributed(long[] nanos) {
+    long attributed = 0;
+    for (Phase phase : Phase.values()) {
+      if (phase != Phase.APP) {
+        attributed += nanos[phase.ordinal()];
+      }
+    }
+    return attributed;
+  }
+
+  private static String toHeaderValue(long[] nanos, long totalNanos) {
+    StringJoiner joiner = new StringJoiner(", ");
+    for (Phase phase : Phase.values()) {
+      long phaseTotal = nanos[phase.ordinal()];
+      if (phaseTotal > 0) {
+        joiner.add(String.format(Locale.ROOT, "%s;desc=\"%s\";dur=%.3f", phase.metric,
+            phase.description, phaseTotal / 1e6));
+      }
+    }
+    joiner.add(String.format(Locale.ROOT, "total;dur=%.3f", totalNanos / 1e6));
+    return joiner.toString();
+  }
+}
@@ -0,0 +1,110 @@
+package com.antond.timing;
+
+import com.antond.config.NotebookProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Times every request and breaks the time down into the phases of {@link RequestTiming}. The
+ * breakdown is sent back in a {@code Server-Timing} header to clients that ask for it with the
+ * {@value #REQUEST_HEADER} request header, and to a configurable sample of all requests. Small
+ * bodies of these responses are buffered so that the header can include the serialization time;
+ * streamed and large bodies are not, see {@link ServerTimingResponseWrapper}. Requests slower than
+ * the configured threshold are logged with their breakdown, whether or not it is sent.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+  /**
+   * Request header with which a client asks for the {@code Server-Timing} response header.
+   */
+  public static final String REQUEST_HEADER = "X-Server-Timing";
+
+  /**
+   * Response header carrying the breakdown.
+   */
+  public static final String RESPONSE_HEADER = "Server-Timing";
+
+  private static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timing";
+
+  private final NotebookProperties.Timing properties;
+
+  /**
+   * Creates the filter.
+   *
+   * @param properties the application properties holding the timing settings
+   */
+  public ServerTimingFilter(NotebookProperties properties) {
+    this.properties = properties.getTiming();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    // Event streams stay open for minutes, so neither their timing nor a buffered body makes sense.
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    return !properties.isEnabled()
+        || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    RequestTiming timing = (RequestTiming) request.getAttribute(TIMING_ATTRIBUTE);
+    HttpServletResponse timedResponse = response;
+    if (timing == null) {
+      timing = new RequestTiming(request.getHeader(REQUEST_HEADER) != null
+          || ThreadLocalRandom.current().nextDouble() < properties.getHeaderSampleRate());
+      request.setAttribute(TIMING_ATTRIBUTE, timing);
+      if (timing.isReported()) {
+        timedResponse = new ServerTimingResponseWrapper(request, response, timing,
+            properties.getMaxBufferSize());
+      }
+    }
+
+    timing.bind();
+    try {
+      filterChain.doFilter(request, timedResponse);
+    } finally {
+      RequestTiming.unbind();
+      if (!isAsyncStarted(request)) {
+        complete(request, timedResponse, timing);
+      }
+    }
+  }
+
+  private void complete(HttpServletRequest request, HttpServletResponse response,
+      RequestTiming timing) throws IOException {
+    timing.stop();
+    long totalMillis = TimeUnit.NANOSECONDS.toMillis(timing.getTotalNanos());
+    if (totalMillis >= properties.getSlowThreshold().toMillis()) {
+      log.warn("Slow request {} {} took {} ms: {}", request.getMethod(),
+          request.getRequestURI(), totalMillis, timing);
+    }
+
+    ServerTimingResponseWrapper wrapper =
+        WebUtils.getNativeResponse(response, ServerTimingResponseWrapper.class);
+    if (wrapper != null) {
+      wrapper.complete();
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.antond.timing;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import org.springframework.util.FastByteArrayOutputStream;
+
+/**
+ * Response wrapper that holds back small bodies until the request completes, so that their
+ * {@code Server-Timing} header can include the serialization time. Bodies written by streaming
+ * handlers, which run asynchronously, and bodies growing beyond the buffer limit are passed
+ * through as they are written instead; their header is set right before the first bytes go out
+ * and leaves the serialization time out.
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+  private final HttpServletRequest request;
+  private final RequestTiming timing;
+  private final int maxBufferSize;
+  private final FastByteArrayOutputStream buffer = new FastByteArrayOutputStream(1024);
+  private ServletOutputStream outputStream;
+  private PrintWriter writer;
+  private boolean passThrough;
+
+  ServerTimingResponseWrapper(HttpServletRequest request, HttpServletResponse response,
+      RequestTiming timing, int maxBufferSize) {
+    super(response);
+    this.request = request;
+    this.timing = timing;
+    this.maxBufferSize = maxBufferSize;
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() throws IOException {
+    if (outputStream == null) {
+      outputStream = new TimingOutputStream(super.getOutputStream());
+    }
+    return outputStream;
+  }
+
+  @Override
+  public PrintWriter getWriter() throws IOException {
+    if (writer == null) {
+      writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+          Charset.forName(getCharacterEncoding())));
+    }
+    return writer;
+  }
+
+  @Override
+  public void flushBuffer() throws IOException {
+    // Message converters flush after every body; committing here would defeat the buffering.
+    if (passThrough) {
+      super.flushBuffer();
+    }
+  }
+
+  @Override
+  public void sendError(int sc) throws IOException {
+    passThrough();
+    super.sendError(sc);
+  }
+
+  @Override
+  public void sendError(int sc, String msg) throws IOException {
+    passThrough();
+    super.sendError(sc, msg);
+  }
+
+  @Override
+  public void sendRedirect(String location) throws IOException {
+    passThrough();
+    super.sendRedirect(location);
+  }
+
+  @Override
+  public void resetBuffer() {
+    super.resetBuffer();
+    buffer.reset();
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    buffer.reset();
+  }
+
+  /**
+   * Sends the buffered body with the complete breakdown. Must be called once the request has been
+   * handled and its timing stopped; does nothing but flush pending characters if the body has
+   * already been passed through.
+   *
+   * @throws IOException if the body cannot be written
+   */
+  void complete() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    }
+    if (passThrough) {
+      return;
+    }
+    if (!isCommitted()) {
+      setHeader(ServerTimingFilter.RESPONSE_HEADER, timing.toHeaderValue());
+    }
+    passThrough = true;
+    writeBuffer();
+  }
+
+  private boolean buffering(int length) throws IOException {
+    if (!passThrough
+        && (request.isAsyncStarted() || buffer.size() + length > maxBufferSize)) {
+      passThrough();
+    }
+    return !passThrough;
+  }
+
+  private void passThrough() throws IOException {
+    if (passThrough) {
+      return;
+    }
+    passThrough = true;
+    if (!isCommitted()) {
+      setHeader(ServerTimingFilter.RESPONSE_HEADER, timing.toInterimHeaderValue());
+    }
+    writeBuffer();
+  }
+
+  private void writeBuffer() throws IOException {
+    if (buffer.size() > 0) {
+      buffer.writeTo(super.getOutputStream());
+      buffer.reset();
+    }
+  }
+
+  private class TimingOutputStream extends ServletOutputStream {
+
+    private final ServletOutputStream target;
+
+    TimingOutputStream(ServletOutputStream target) {
+      this.target = target;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (buffering(1)) {
+        buffer.write(b);
+      } else {
+        target.write(b);
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (buffering(len)) {
+        buffer.write(b, off, len);
+      } else {
+        target.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (passThrough) {
+        target.flush();
+      }
+    }
+
+    @Override
+    public boolean isReady() {
+      return target.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      target.setWriteListener(writeListener);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.antond.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. A negative answer of {@link #mightContain(String)} is
+ * definite, a positive one is wrong with roughly the false positive rate the filter was sized for,
+ * as long as no more than the expected number of keys were added. Keys cannot be removed.
+ */
+public class BloomFilter {
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+  private final long expectedInsertions;
+  private final AtomicLong insertions = new AtomicLong();
+
+  /**
+   * Creates a filter sized for the given number of keys and false positive rate.
+   *
+   * @param expectedInsertions the number of keys expected to be added
+   * @param falsePositiveRate  the acceptable rate of false positives, between 0 and 1 exclusive
+   * @throws IllegalArgumentException if either argument is out of range
+   */
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions < 1) {
+      throw new IllegalArgumentException("Expected insertions must be positive");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+    }
+    double ln2 = Math.log(2);
+    long optimalBits = (long) Math.ceil(
+        -expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64));
+    this.bitCount = (long) bits.length() * 64;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    this.expectedInsertions = expectedInsertions;
+  }
+
+  /**
+   * Adds a key.
+   *
+   * @param key the key to add
+   */
+  public void put(String key) {
+    long hash = hash(key);
+    long h1 = hash;
+    long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      int index = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long word = bits.get(index);
+      while ((word & mask) == 0 && !bits.compareAndSet(index, word, word | mask)) {
+        word = bits.get(index);
+      }
+    }
+    insertions.incrementAndGet();
+  }
+
+  /**
+   * Checks whether a key might have been added.
+   *
+   * @param key the key to look up
+   * @return false if the key was definitely never added, true if it probably was
+   */
+  public boolean mightContain(String key) {
+    long hash = hash(key);
+    long h1 = hash;
+    long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether more keys were added than the filter was sized for, which raises its false
+   * positive rate above the configured one.
+   *
+   * @return true if the filter should be rebuilt with a bigger size
+   */
+  public boolean isSaturated() {
+    return insertions.get() > expectedInsertions;
+  }
+
+  private static long hash(String key) {
+    // 64-bit FNV-1a over the UTF-16 code units, finished with a mixer for better bit dispersion.
+    long hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001B3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
@@ -0,0 +1,62 @@
+package com.antond.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same operation. While a call for a key is in flight,
+ * further calls for that key do not run the operation again but wait for the running one and
+ * receive its result, or its exception. Nothing is retained once the call completes, so this is not
+ * a cache: the next call after completion runs the operation again.
+ *
+ * @param <K> the type of the keys identifying an operation
+ * @param <V> the type of the operation results
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Runs the operation for a key, or joins the call already in flight for that key.
+   *
+   * @param key       the key identifying the operation
+   * @param operation the operation to run if no call for the key is in flight
+   * @return the result of the operation
+   * @throws RuntimeException the exception thrown by the operation, rethrown to every caller
+   */
+  public V execute(K key, Supplier<V> operation) {
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+    if (running != null) {
+      return join(running);
+    }
+
+    try {
+      V result = operation.get();
+      call.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  private V join(CompletableFuture<V> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.antond.utils;
+
+/**
+ * A contiguous part of a text produced by {@link TextChunker}, identified by the hash of its
+ * content.
+ *
+ * @param start the index of the first character of the chunk
+ * @param end   the index after the last character of the chunk
+ * @param hash  the content hash of the chunk
+ */
+public record TextChunk(int start, int end, String hash) {
+
+  /**
+   * Returns the content of this chunk.
+   *
+   * @param text the text this chunk was cut from
+   * @return the characters of the chunk
+   */
+  public String of(String text) {
+    return text.substring(start, end);
+  }
+}
@@ -0,0 +1,127 @@
+package com.antond.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits texts into content-defined chunks for incremental processing. Chunks end after a line
+ * whose content hash matches a boundary pattern, so boundaries depend only on the surrounding
+ * lines: editing a line changes the chunk containing it, while all other chunks keep their content
+ * and hash. Chunks never split a word, which means word statistics of a text are the sum of the
+ * statistics of its chunks.
+ */
+@Component
+public class TextChunker {
+
+  /**
+   * Chunks shorter than this are never ended at a line boundary.
+   */
+  static final int MIN_CHUNK_LENGTH = 1024;
+
+  /**
+   * Chunks are ended at the next line end, or next non-word character for huge lines, once they
+   * reach this length.
+   */
+  static final int MAX_CHUNK_LENGTH = 16 * 1024;
+
+  /**
+   * One in four lines ends a chunk, once it is long enough.
+   */
+  private static final int BOUNDARY_MASK = 0x3;
+
+  /**
+   * Splits a text into chunks.
+   *
+   * @param text the text to split; null is treated as empty
+   * @return the chunks covering the whole text in order, none for an empty text
+   */
+  public List<TextChunk> split(String text) {
+    List<TextChunk> chunks = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return chunks;
+    }
+
+    MessageDigest digest = sha256();
+    int start = 0;
+    int lineHash = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      int length = i + 1 - start;
+      boolean boundary;
+      if (c == '\n') {
+        boundary = length >= MAX_CHUNK_LENGTH
+            || (length >= MIN_CHUNK_LENGTH && (mix(lineHash) & BOUNDARY_MASK) == 0);
+        lineHash = 0;
+      } else {
+        lineHash = 31 * lineHash + c;
+        boundary = length >= MAX_CHUNK_LENGTH && !TextUtils.isWordCharacter(c)
+            && !Character.isHighSurrogate(c);
+      }
+      if (boundary) {
+        chunks.add(chunk(text, start, i + 1, digest));
+        start = i + 1;
+        lineHash = 0;
+      }
+    }
+    if (start < text.length()) {
+      chunks.add(chunk(text, start, text.length(), digest));
+    }
+    return chunks;
+  }
+
+  /**
+   * Computes a digest identifying the whole text from the hashes of its chunks.
+   *
+   * @param chunks the chunks of a text
+   * @return the digest of the text
+   */
+  public String digest(List<TextChunk> chunks) {
+    MessageDigest digest = sha256();
+    chunks.forEach(chunk -> digest.update(chunk.hash().getBytes(StandardCharsets.US_ASCII)));
+    return encode(digest.digest());
+  }
+
+  /**
+   * Computes the content hash of a piece of text the way {@link #split(String)} does for its
+   * chunks.
+   *
+   * @param content the content of a chunk
+   * @return the content hash
+   */
+  public String hash(String content) {
+    return encode(sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static TextChunk chunk(String text, int start, int end, MessageDigest digest) {
+    byte[] hash = digest.digest(text.substring(start, end).getBytes(StandardCharsets.UTF_8));
+    return new TextChunk(start, end, encode(hash));
+  }
+
+  /**
+   * Encodes the first 128 bits of a SHA-256 hash, which is plenty to tell the chunks of a note
+   * apart.
+   */
+  private static String encode(byte[] hash) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+  }
+
+  private static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x45d9f3b;
+    return hash ^ (hash >>> 16);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
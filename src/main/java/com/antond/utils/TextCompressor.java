@@ -0,0 +1,139 @@
+package com.antond.utils;
+
+import com.antond.dto.response.NoteTextSlice;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Utility component for compressing note texts at rest. Texts are encoded as UTF-8 and compressed
+ * with deflate; the codec name is stored next to the compressed bytes so that other codecs can be
+ * introduced later without breaking existing documents.
+ */
+@Component
+public class TextCompressor {
+
+  /**
+   * Codec marker for texts compressed with deflate in the zlib format (RFC 1950), i.e. with the
+   * zlib header and Adler-32 trailer that {@link Deflater} writes by default.
+   */
+  public static final String DEFLATE_CODEC = "deflate";
+
+  /**
+   * Compresses the given text if doing so is worthwhile. Texts whose UTF-8 representation is
+   * shorter than {@code minSize} bytes, or that do not shrink when compressed, are left as is.
+   *
+   * @param text    the text to compress
+   * @param minSize the minimum size in bytes a text must have to be compressed
+   * @param level   the deflate compression level (1 = fastest, 9 = smallest)
+   * @return the compressed bytes, or {@code null} if the text should be stored uncompressed
+   */
+  public byte[] compress(String text, int minSize, int level) {
+    if (text == null || text.length() < minSize / 4) {
+      return null;
+    }
+    byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+    if (raw.length < minSize) {
+      return null;
+    }
+    byte[] compressed = deflate(raw, level);
+    return compressed.length < raw.length ? compressed : null;
+  }
+
+  /**
+   * Restores a text previously produced by {@link #compress(String, int, int)}.
+   *
+   * @param data  the compressed bytes
+   * @param codec the codec marker stored alongside the bytes
+   * @return the original text
+   * @throws IllegalStateException if the codec is not supported
+   */
+  public String decompress(byte[] data, String codec) {
+    requireSupported(codec);
+    try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Extracts a part of a compressed text without materializing the whole text. The data is inflated
+   * as a stream; only the requested code points are kept while the rest is merely counted to
+   * determine the total length.
+   *
+   * @param data   the compressed bytes
+   * @param codec  the codec marker stored alongside the bytes
+   * @param offset the index of the first code point to return
+   * @param length the maximum number of code points to return
+   * @return the requested slice together with the total text length in code points
+   * @throws IllegalStateException if the codec is not supported
+   */
+  public NoteTextSlice slice(byte[] data, String codec, int offset, int length) {
+    requireSupported(codec);
+    long end = (long) offset + length;
+    StringBuilder slice = new StringBuilder();
+    int codePoints = 0;
+
+    try (Reader reader = new BufferedReader(new InputStreamReader(
+        new InflaterInputStream(new ByteArrayInputStream(data)), StandardCharsets.UTF_8))) {
+      char[] buffer = new char[8192];
+      int read;
+      while ((read = reader.read(buffer)) != -1) {
+        for (int i = 0; i < read; i++) {
+          char c = buffer[i];
+          if (Character.isLowSurrogate(c)) {
+            if (codePoints > offset && codePoints <= end) {
+              slice.append(c);
+            }
+            continue;
+          }
+          if (codePoints >= offset && codePoints < end) {
+            slice.append(c);
+          }
+          codePoints++;
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return NoteTextSlice.builder()
+        .text(slice.toString())
+        .offset(offset)
+        .totalLength(codePoints)
+        .build();
+  }
+
+  private static byte[] deflate(byte[] raw, int level) {
+    Deflater deflater = new Deflater(level);
+    try {
+      deflater.setInput(raw);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        int written = deflater.deflate(buffer);
+        out.write(buffer, 0, written);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static void requireSupported(String codec) {
+    if (!DEFLATE_CODEC.equals(codec)) {
+      throw new IllegalStateException("Unsupported text codec: " + codec);
+    }
+  }
+}
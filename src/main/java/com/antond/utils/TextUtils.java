@@ -1,5 +1,9 @@
 package com.antond.utils;
 
+import com.antond.exception.VocabularyLimitExceededException;
+import com.antond.exception.WordLengthExceededException;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -46,4 +50,67 @@ public class TextUtils {
             Collectors.counting()
         ));
   }
-}
\ No newline at end of file
+
+  /**
+   * Calculates word frequency statistics by reading the text incrementally from a reader.
+   * Tokenization is equivalent to {@link #calculateWordStats(String)}: words are runs of
+   * {@code [a-zA-Z0-9_]} characters, normalized to lowercase. The text is never materialized as a
+   * whole, and both the number of distinct words and the length of each word are capped, so memory
+   * usage is bounded by {@code maxVocabulary * maxWordLength} characters rather than by the length
+   * of the input.
+   *
+   * @param reader        the source of the text to analyze; it is not closed by this method
+   * @param maxVocabulary the maximum number of distinct words that may be collected
+   * @param maxWordLength the maximum number of characters of a single word
+   * @return a LinkedHashMap where keys are unique lowercase words and values are
+   *         frequency counts, preserving the order of first occurrence
+   * @throws IOException                       if reading from the reader fails
+   * @throws VocabularyLimitExceededException  if the text contains more than
+   *                                           {@code maxVocabulary} distinct words
+   * @throws WordLengthExceededException       if the text contains a word longer than
+   *                                           {@code maxWordLength} characters
+   */
+  public Map<String, Long> calculateWordStats(Reader reader, int maxVocabulary,
+      int maxWordLength) throws IOException {
+    Map<String, Long> stats = new LinkedHashMap<>();
+    StringBuilder word = new StringBuilder();
+    char[] buffer = new char[8192];
+
+    int read;
+    while ((read = reader.read(buffer)) != -1) {
+      for (int i = 0; i < read; i++) {
+        char c = buffer[i];
+        if (isWordCharacter(c)) {
+          if (word.length() >= maxWordLength) {
+            throw new WordLengthExceededException(maxWordLength);
+          }
+          word.append(Character.toLowerCase(c));
+        } else if (!word.isEmpty()) {
+          countWord(stats, word, maxVocabulary);
+        }
+      }
+    }
+    if (!word.isEmpty()) {
+      countWord(stats, word, maxVocabulary);
+    }
+    return stats;
+  }
+
+  private static void countWord(Map<String, Long> stats, StringBuilder word, int maxVocabulary) {
+    String key = word.toString();
+    word.setLength(0);
+
+    Long count = stats.get(key);
+    if (count == null && stats.size() >= maxVocabulary) {
+      throw new VocabularyLimitExceededException(maxVocabulary);
+    }
+    stats.put(key, count == null ? 1L : count + 1);
+  }
+
+  /**
+   * Mirrors the {@code \w} character class used by the regex based tokenizer.
+   */
+  static boolean isWordCharacter(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+  }
+}
@@ -0,0 +1,130 @@
+package com.antond.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.antond.config.NotebookProperties;
+import com.antond.constants.Tag;
+import com.antond.entity.Note;
+import com.antond.event.NoteChangedEvent;
+import com.antond.repository.NoteFilter;
+import com.antond.repository.NoteProjection;
+import com.antond.repository.NoteRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@ExtendWith(MockitoExtension.class)
+class FirstPageCacheTests {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+  @Mock
+  private NoteRepository noteRepository;
+
+  private final NotebookProperties properties = new NotebookProperties();
+
+  private FirstPageCache cache;
+
+  @BeforeEach
+  void setUp() {
+    properties.getListCache().setCapacity(3);
+    cache = new FirstPageCache(noteRepository, properties);
+  }
+
+  @Test
+  void supports_OnlyFirstPageInDefaultOrder() {
+    NoteFilter filter = NoteFilter.builder().allTags(List.of(Tag.PERSONAL)).build();
+
+    assertTrue(cache.supports(filter, PageRequest.of(0, 3)));
+    assertTrue(cache.supports(filter,
+        PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "createdDate"))));
+    assertFalse(cache.supports(filter, PageRequest.of(1, 3)));
+    assertFalse(cache.supports(filter, PageRequest.of(0, 4)));
+    assertFalse(cache.supports(filter,
+        PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "createdDate"))));
+  }
+
+  @Test
+  void getFirstPage_CreatedNote_ServedWithoutReload() {
+    when(noteRepository.findNotes(any(), any(), any()))
+        .thenReturn(new ArrayList<>(List.of(note("1", 1, Tag.PERSONAL))));
+    cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+
+    cache.onNoteChanged(NoteChangedEvent.created(note("2", 2, Tag.BUSINESS)));
+    List<Note> page = cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+
+    assertEquals(List.of("2", "1"), page.stream().map(Note::getId).toList());
+    verify(noteRepository, times(1)).findNotes(any(), any(), any());
+  }
+
+  @Test
+  void getFirstPage_UpdatedTags_MovesNoteBetweenCombinations() {
+    when(noteRepository.findNotes(any(), any(), any()))
+        .thenReturn(List.of(note("1", 1, Tag.PERSONAL)));
+    cache.getFirstPage(List.of(Tag.PERSONAL), 3, NoteProjection.SUMMARY);
+
+    cache.onNoteChanged(NoteChangedEvent.updated(note("1", 1, Tag.BUSINESS)));
+
+    assertTrue(cache.getFirstPage(List.of(Tag.PERSONAL), 3, NoteProjection.SUMMARY).isEmpty());
+    verify(noteRepository, times(1)).findNotes(any(), any(), any());
+  }
+
+  @Test
+  void getFirstPage_DeletionFromFullPage_ReloadsWhenTooShort() {
+    when(noteRepository.findNotes(any(), any(), any()))
+        .thenReturn(List.of(note("3", 3), note("2", 2), note("1", 1)));
+    cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+
+    cache.onNoteChanged(NoteChangedEvent.deleted("3"));
+    cache.getFirstPage(List.of(), 2, NoteProjection.SUMMARY);
+    cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+
+    verify(noteRepository, times(2)).findNotes(any(), any(), any());
+  }
+
+  @Test
+  void getFirstPage_ExpiredWithoutChangeStream_Reloads() {
+    properties.getListCache().setMaxAge(Duration.ZERO);
+    when(noteRepository.findNotes(any(), any(), any())).thenReturn(List.of(note("1", 1)));
+
+    cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+    cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+
+    verify(noteRepository, times(2)).findNotes(any(), any(), any());
+  }
+
+  @Test
+  void getFirstPage_WithChangeStream_DoesNotExpire() {
+    properties.getListCache().setMaxAge(Duration.ZERO);
+    properties.getChangeStream().setEnabled(true);
+    when(noteRepository.findNotes(any(), any(), any())).thenReturn(List.of(note("1", 1)));
+
+    cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+    cache.getFirstPage(List.of(), 3, NoteProjection.SUMMARY);
+
+    verify(noteRepository, times(1)).findNotes(any(), any(), any());
+  }
+
+  private static Note note(String id, int minutes, Tag... tags) {
+    return Note.builder()
+        .id(id)
+        .title("Note " + id)
+        .createdDate(NOW.plusMinutes(minutes))
+        .tags(List.of(tags))
+        .build();
+  }
+}
@@ -1,6 +1,7 @@
 package com.antond.config;
 
 import com.antond.entity.Note;
+import com.antond.repository.NoteRepositoryCustom;
 import io.restassured.RestAssured;
 import jakarta.annotation.PostConstruct;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +29,8 @@ public abstract class IntegrationTest {
   @BeforeEach
   void setUp() {
     mongoTemplate.remove(new Query(), Note.class);
+    mongoTemplate.remove(new Query(), NoteRepositoryCustom.ARCHIVE_COLLECTION);
+    mongoTemplate.remove(new Query(), NoteRepositoryCustom.TOMBSTONE_COLLECTION);
   }
 
   @PostConstruct
@@ -1,22 +1,52 @@
 package com.antond.controller;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.antond.config.IntegrationTest;
 import com.antond.constants.Tag;
 import com.antond.dto.request.CreateNoteRequest;
 import com.antond.dto.request.UpdateNoteRequest;
+import com.antond.entity.Note;
+import com.antond.event.NoteChangesLostEvent;
+import com.antond.event.NoteEventBroadcaster;
+import com.antond.repository.NoteRepository;
 import com.antond.utils.NoteProvider;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 class NoteControllerTests extends IntegrationTest {
@@ -27,6 +57,12 @@ class NoteControllerTests extends IntegrationTest {
   @Autowired
   private NoteProvider noteProvider;
 
+  @Autowired
+  private NoteRepository noteRepository;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   @Test
   void testConnection() {
     assertDoesNotThrow(() -> {
@@ -55,6 +91,33 @@ class NoteControllerTests extends IntegrationTest {
         .body("tags", hasItems("PERSONAL", "IMPORTANT"));
   }
 
+  @Test
+  void createNote_CborRequest_ReturnsCborResponse() throws IOException {
+    ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    byte[] request = cborMapper.writeValueAsBytes(CreateNoteRequest.builder()
+        .title("Binary Note")
+        .text("Sent as CBOR")
+        .tags(List.of(Tag.BUSINESS))
+        .build());
+
+    byte[] response = given()
+        .contentType("application/cbor")
+        .accept("application/cbor")
+        .body(request)
+        .when()
+        .post("/notes")
+        .then()
+        .statusCode(201)
+        .contentType("application/cbor")
+        .extract()
+        .asByteArray();
+
+    Map<String, Object> note = cborMapper.readValue(response, new TypeReference<>() {
+    });
+    assertEquals("Binary Note", note.get("title"));
+    assertEquals(List.of("BUSINESS"), note.get("tags"));
+  }
+
   @Test
   void createNote_InvalidRequest_ReturnsBadRequest() {
     CreateNoteRequest invalidRequest = CreateNoteRequest.builder()
@@ -98,6 +161,87 @@ class NoteControllerTests extends IntegrationTest {
         .body("[1].title", equalTo("Personal Note 2"));
   }
 
+  @Test
+  void getAllNotes_DateRangeWithCursor_ReturnsNotesOfWindowInOrder() {
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (int day = 0; day < 5; day++) {
+      noteProvider.createNote("Note " + day, null, null, start.plusDays(day));
+    }
+
+    String cursor = given()
+        .queryParam("from", "2024-01-02T00:00:00")
+        .queryParam("to", "2024-01-05T00:00:00")
+        .queryParam("direction", "asc")
+        .queryParam("size", 2)
+        .when()
+        .get("/notes")
+        .then()
+        .statusCode(200)
+        .header(NoteController.NEXT_CURSOR_HEADER, notNullValue())
+        .body("size()", equalTo(2))
+        .body("[0].title", equalTo("Note 1"))
+        .body("[1].title", equalTo("Note 2"))
+        .extract()
+        .header(NoteController.NEXT_CURSOR_HEADER);
+
+    given()
+        .queryParam("from", "2024-01-02T00:00:00")
+        .queryParam("to", "2024-01-05T00:00:00")
+        .queryParam("direction", "asc")
+        .queryParam("size", 2)
+        .queryParam("after", cursor)
+        .when()
+        .get("/notes")
+        .then()
+        .statusCode(200)
+        .header(NoteController.NEXT_CURSOR_HEADER, nullValue())
+        .body("size()", equalTo(1))
+        .body("[0].title", equalTo("Note 3"));
+  }
+
+  @Test
+  void getAllNotes_InvalidCursor_ReturnsBadRequest() {
+    given()
+        .when()
+        .get("/notes?after=not-a-cursor")
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  void streamNotes_ValidPagination_ShouldReturnCorrectPage() {
+    noteProvider.createNotesForPaginationTesting();
+    given()
+        .when()
+        .get("/notes/stream?page=0&size=2&tags=IMPORTANT")
+        .then()
+        .statusCode(200)
+        .body("size()", equalTo(2))
+        .body("[0].title", equalTo("Business Note 3 - Newest"))
+        .body("[1].title", equalTo("Personal Note 3 - Newest"))
+        .body("[0].id", notNullValue());
+  }
+
+  @Test
+  void streamNotes_AcceptSmile_ReturnsSmileArray() throws IOException {
+    noteProvider.createNotesForPaginationTesting();
+    byte[] response = given()
+        .accept("application/x-jackson-smile")
+        .when()
+        .get("/notes/stream?page=0&size=2&tags=IMPORTANT")
+        .then()
+        .statusCode(200)
+        .contentType("application/x-jackson-smile")
+        .extract()
+        .asByteArray();
+
+    List<Map<String, Object>> notes = new ObjectMapper(new SmileFactory())
+        .readValue(response, new TypeReference<>() {
+        });
+    assertEquals(2, notes.size());
+    assertEquals("Business Note 3 - Newest", notes.get(0).get("title"));
+  }
+
   @Test
   void getAllNotes_InvalidPage_ReturnsBadRequest() {
     given()
@@ -131,6 +275,26 @@ class NoteControllerTests extends IntegrationTest {
         .body("[1].title", equalTo("Personal Note 2"));
   }
 
+  @Test
+  void getNotesByTag_AnyAndNoneQueryParameters_ReturnsMatchingNotes() {
+    LocalDateTime now = LocalDateTime.now();
+    noteProvider.createNote("Business", null, List.of(Tag.BUSINESS), now.minusMinutes(3));
+    noteProvider.createNote("Personal", null, List.of(Tag.PERSONAL), now.minusMinutes(2));
+    noteProvider.createNote("Important Business", null, List.of(Tag.BUSINESS, Tag.IMPORTANT),
+        now.minusMinutes(1));
+
+    given()
+        .when()
+        .get("/notes/tag?any=BUSINESS,PERSONAL&none=IMPORTANT")
+        .then()
+        .statusCode(200)
+        .header("Cache-Control", containsString("max-age"))
+        .header("Vary", allOf(containsString("Accept"), containsString("Accept-Encoding")))
+        .body("size()", equalTo(2))
+        .body("[0].title", equalTo("Personal"))
+        .body("[1].title", equalTo("Business"));
+  }
+
   @Test
   void getNotesByTag_WithEmptyPage_ShouldReturnEmptyList() {
     given()
@@ -173,6 +337,161 @@ class NoteControllerTests extends IntegrationTest {
   }
 
 
+  @Test
+  void syncNotes_InBatches_ReturnsChangesInOrderOfModification() {
+    LocalDateTime now = LocalDateTime.now();
+    List<String> ids = new ArrayList<>();
+    for (int minutes = 3; minutes > 0; minutes--) {
+      ids.add(mongoTemplate.insert(Note.builder()
+          .title("Changed " + minutes + " minutes ago")
+          .text("Content")
+          .tags(List.of())
+          .lastModified(now.minusMinutes(minutes))
+          .build()).getId());
+    }
+    String deletedId = new ObjectId().toHexString();
+    noteRepository.saveTombstone(deletedId, now.minusSeconds(90));
+
+    String token = given()
+        .queryParam("limit", 2)
+        .when()
+        .get("/notes/sync")
+        .then()
+        .statusCode(200)
+        .body("notes.id", equalTo(ids.subList(0, 2)))
+        .body("deleted", equalTo(List.of()))
+        .body("hasMore", equalTo(true))
+        .extract()
+        .path("nextToken");
+
+    given()
+        .queryParam("token", token)
+        .when()
+        .get("/notes/sync")
+        .then()
+        .statusCode(200)
+        .body("notes.id", equalTo(ids.subList(2, 3)))
+        .body("notes[0].text", equalTo("Content"))
+        .body("deleted", equalTo(List.of(deletedId)))
+        .body("hasMore", equalTo(false))
+        .body("reset", equalTo(false));
+  }
+
+  @Test
+  void syncNotes_NotesOlderThanTombstoneRetention_PagesThroughWithoutReset() {
+    LocalDateTime longAgo = LocalDateTime.now().minusDays(60);
+    List<String> ids = new ArrayList<>();
+    for (int day = 0; day < 5; day++) {
+      ids.add(mongoTemplate.insert(Note.builder()
+          .title("Changed on day " + day)
+          .text("Content")
+          .tags(List.of())
+          .lastModified(longAgo.plusDays(day))
+          .build()).getId());
+    }
+
+    List<String> synced = new ArrayList<>();
+    String token = null;
+    boolean hasMore = true;
+    for (int batch = 0; hasMore && batch < 5; batch++) {
+      Response response = given()
+          .queryParam("limit", 2)
+          .queryParams(token != null ? Map.of("token", token) : Map.of())
+          .when()
+          .get("/notes/sync")
+          .then()
+          .statusCode(200)
+          .body("reset", equalTo(false))
+          .extract()
+          .response();
+      synced.addAll(response.path("notes.id"));
+      token = response.path("nextToken");
+      hasMore = response.path("hasMore");
+    }
+
+    assertEquals(ids, synced);
+  }
+
+  @Test
+  void syncNotes_InvalidToken_ReturnsBadRequest() {
+    given()
+        .queryParam("token", "not-a-token")
+        .when()
+        .get("/notes/sync")
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  void subscribeToChanges_WithTag_ReceivesOnlyMatchingChanges() throws Exception {
+    HttpRequest subscription = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + port + "/notes/events?tags=BUSINESS"))
+        .header("Accept", "text/event-stream")
+        .build();
+    HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+        .send(subscription, HttpResponse.BodyHandlers.ofLines());
+    assertEquals(200, response.statusCode());
+
+    for (Tag tag : List.of(Tag.PERSONAL, Tag.BUSINESS)) {
+      given()
+          .contentType(ContentType.JSON)
+          .body(CreateNoteRequest.builder()
+              .title(tag + " note")
+              .text("Event content")
+              .tags(List.of(tag))
+              .build())
+          .when()
+          .post("/notes")
+          .then()
+          .statusCode(201);
+    }
+
+    Iterator<String> lines = response.body().iterator();
+    List<String> event = CompletableFuture.supplyAsync(() -> {
+      List<String> received = new ArrayList<>();
+      while (lines.hasNext()) {
+        String line = lines.next();
+        if (line.isEmpty() && !received.isEmpty()) {
+          return received;
+        }
+        received.add(line);
+      }
+      return received;
+    }).get(10, TimeUnit.SECONDS);
+    response.body().close();
+
+    assertEquals("event:created", event.get(0));
+    assertTrue(event.get(1).contains("\"title\":\"BUSINESS note\""));
+    assertTrue(event.get(1).contains("\"tags\":[\"BUSINESS\"]"));
+  }
+
+  @Test
+  void subscribeToChanges_ChangesLost_ReceivesOverflow() throws Exception {
+    HttpRequest subscription = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + port + "/notes/events"))
+        .header("Accept", "text/event-stream")
+        .build();
+    HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+        .send(subscription, HttpResponse.BodyHandlers.ofLines());
+    assertEquals(200, response.statusCode());
+
+    eventPublisher.publishEvent(new NoteChangesLostEvent("Change stream could not be resumed"));
+
+    Iterator<String> lines = response.body().iterator();
+    String event = CompletableFuture.supplyAsync(() -> {
+      while (lines.hasNext()) {
+        String line = lines.next();
+        if (line.startsWith("event:")) {
+          return line;
+        }
+      }
+      return null;
+    }).get(10, TimeUnit.SECONDS);
+    response.body().close();
+
+    assertEquals("event:" + NoteEventBroadcaster.OVERFLOW_EVENT, event);
+  }
+
   @Test
   void getNoteById_ExistingNote_ReturnsNote() {
     String noteId = noteProvider.createTestNote();
@@ -186,6 +505,187 @@ class NoteControllerTests extends IntegrationTest {
         .body("title", equalTo("Test Note"));
   }
 
+  @Test
+  void getNoteById_ServerTimingRequested_ReturnsBreakdown() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .header("X-Server-Timing", "1")
+        .when()
+        .get("/notes/" + noteId)
+        .then()
+        .statusCode(200)
+        .header("Server-Timing", allOf(containsString("db;"), containsString("serialize;"),
+            containsString("total;dur=")))
+        .body("id", equalTo(noteId));
+  }
+
+  @Test
+  void streamNotes_ServerTimingRequested_ReturnsBreakdownWithoutSerialization() {
+    noteProvider.createNotesForPaginationTesting();
+
+    given()
+        .header("X-Server-Timing", "1")
+        .when()
+        .get("/notes/stream?page=0&size=2&tags=IMPORTANT")
+        .then()
+        .statusCode(200)
+        .header("Server-Timing", allOf(containsString("total;dur="),
+            not(containsString("serialize;"))))
+        .body("size()", equalTo(2));
+  }
+
+  @Test
+  void getNoteText_ServerTimingRequestedForLargeText_ReturnsBreakdownWithoutSerialization() {
+    String text = "note ".repeat(20_000);
+    String noteId = noteProvider.createNoteWithText(text);
+
+    given()
+        .header("X-Server-Timing", "1")
+        .when()
+        .get("/notes/{id}/text", noteId)
+        .then()
+        .statusCode(200)
+        .header("Server-Timing", allOf(containsString("db;"),
+            not(containsString("serialize;"))))
+        .body(equalTo(text));
+  }
+
+  @Test
+  void getNoteById_ServerTimingNotRequested_OmitsHeader() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .when()
+        .get("/notes/" + noteId)
+        .then()
+        .statusCode(200)
+        .header("Server-Timing", nullValue());
+  }
+
+  @Test
+  void getNoteById_ArchivedNote_ReturnsNote() {
+    String noteId = noteProvider.createNote("Archived Note", "Old content", List.of(Tag.PERSONAL),
+        LocalDateTime.now().minusYears(2));
+    noteRepository.archiveNotesCreatedBefore(LocalDateTime.now().minusYears(1), 10);
+
+    given()
+        .when()
+        .get("/notes/{id}", noteId)
+        .then()
+        .statusCode(200)
+        .body("title", equalTo("Archived Note"))
+        .body("text", equalTo("Old content"));
+  }
+
+  @Test
+  void getAllNotes_IncludeArchived_ReturnsArchivedNotes() {
+    noteProvider.createNote("Archived Note", null, null, LocalDateTime.now().minusYears(2));
+    noteProvider.createNote("Hot Note", null, null, null);
+    noteRepository.archiveNotesCreatedBefore(LocalDateTime.now().minusYears(1), 10);
+
+    given()
+        .when()
+        .get("/notes")
+        .then()
+        .statusCode(200)
+        .body("size()", equalTo(1))
+        .body("[0].title", equalTo("Hot Note"));
+
+    given()
+        .when()
+        .get("/notes?includeArchived=true")
+        .then()
+        .statusCode(200)
+        .body("size()", equalTo(2))
+        .body("[0].title", equalTo("Hot Note"))
+        .body("[1].title", equalTo("Archived Note"));
+  }
+
+  @Test
+  void getNotesByIds_MixedIds_ReturnsNotesInRequestOrderAndMissingIds() {
+    String first = noteProvider.createNote("First", "Text", List.of(Tag.BUSINESS),
+        LocalDateTime.now().minusDays(1));
+    String second = noteProvider.createNote("Second", "Text", List.of(Tag.PERSONAL),
+        LocalDateTime.now());
+    String unknown = "507f1f77bcf86cd799439011";
+
+    given()
+        .when()
+        .get("/notes/batch?ids=" + second + "," + unknown + "," + first)
+        .then()
+        .statusCode(200)
+        .body("notes.size()", equalTo(2))
+        .body("notes[0].id", equalTo(second))
+        .body("notes[1].id", equalTo(first))
+        .body("notes[0].text", nullValue())
+        .body("missing", equalTo(List.of(unknown)));
+  }
+
+  @Test
+  void getNotesByIds_UpperCaseId_ReturnsNoteUnderNormalizedId() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .when()
+        .get("/notes/batch?ids=" + noteId.toUpperCase() + "," + noteId)
+        .then()
+        .statusCode(200)
+        .body("notes.size()", equalTo(1))
+        .body("notes[0].id", equalTo(noteId))
+        .body("missing.size()", equalTo(0));
+  }
+
+  @Test
+  void getNotesByIds_WithFields_ReturnsOnlyRequestedFields() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .when()
+        .get("/notes/batch?ids=" + noteId + "&fields=title")
+        .then()
+        .statusCode(200)
+        .body("notes[0].title", notNullValue())
+        .body("notes[0].id", nullValue())
+        .body("notes[0].tags", nullValue())
+        .body("missing.size()", equalTo(0));
+  }
+
+  @Test
+  void getNotesByIds_TooManyIds_ReturnsBadRequest() {
+    String ids = String.join(",", Collections.nCopies(101, "id"));
+
+    given()
+        .when()
+        .get("/notes/batch?ids=" + ids)
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  void getNoteById_WithFields_ReturnsOnlyRequestedFields() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .when()
+        .get("/notes/{id}?fields=title,tags", noteId)
+        .then()
+        .statusCode(200)
+        .body("title", equalTo("Test Note"))
+        .body("tags", hasItems("PERSONAL"))
+        .body("id", nullValue())
+        .body("text", nullValue());
+  }
+
+  @Test
+  void getAllNotes_WithUnsupportedField_ReturnsBadRequest() {
+    given()
+        .when()
+        .get("/notes?fields=text")
+        .then()
+        .statusCode(400);
+  }
+
   @Test
   void getNoteById_NonExistingNote_ReturnsNotFound() {
     given()
@@ -195,6 +695,53 @@ class NoteControllerTests extends IntegrationTest {
         .statusCode(404);
   }
 
+  @Test
+  void getNoteText_WithOffsetAndLength_ReturnsPartialText() {
+    String noteId = noteProvider.createNoteWithText("note is just a note");
+
+    given()
+        .when()
+        .get("/notes/{id}/text?offset=5&length=7", noteId)
+        .then()
+        .statusCode(206)
+        .header("Content-Range", equalTo("chars 5-11/19"))
+        .body(equalTo("is just"));
+  }
+
+  @Test
+  void getNoteText_OffsetBeyondText_ReturnsRangeNotSatisfiable() {
+    String noteId = noteProvider.createNoteWithText("note is just a note");
+
+    given()
+        .when()
+        .get("/notes/{id}/text?offset=19", noteId)
+        .then()
+        .statusCode(416)
+        .header("Content-Range", equalTo("chars */19"));
+  }
+
+  @Test
+  void getNoteText_EmptyText_ReturnsNoContentRange() {
+    String noteId = noteProvider.createNoteWithText("");
+
+    given()
+        .when()
+        .get("/notes/{id}/text", noteId)
+        .then()
+        .statusCode(200)
+        .header("Content-Range", nullValue())
+        .body(equalTo(""));
+  }
+
+  @Test
+  void getNoteText_NonExistingNote_ReturnsNotFound() {
+    given()
+        .when()
+        .get("/notes/{id}/text", "non-existing-id")
+        .then()
+        .statusCode(404);
+  }
+
   @Test
   void getNoteStatsById_ExistingNote_ReturnsWordStats() {
     String noteId = noteProvider.createNoteWithText("note is just a note");
@@ -221,6 +768,81 @@ class NoteControllerTests extends IntegrationTest {
         .statusCode(404);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void calculateStatsBatch_MixedIds_StreamsStatsMissingIdsAndTotal() throws IOException {
+    String first = noteProvider.createNoteWithText("note is just a note");
+    String second = noteProvider.createNoteWithText("just a test");
+    String unknown = "507f1f77bcf86cd799439011";
+
+    String response = given()
+        .contentType(ContentType.JSON)
+        .body(Map.of("ids", List.of(first, unknown, second), "total", true))
+        .when()
+        .post("/notes/stats/batch")
+        .then()
+        .statusCode(200)
+        .contentType("application/x-ndjson")
+        .extract()
+        .asString();
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    List<Map<String, Object>> lines = new ArrayList<>();
+    for (String line : response.split("\n")) {
+      lines.add(objectMapper.readValue(line, new TypeReference<>() {
+      }));
+    }
+    assertEquals(4, lines.size());
+    assertEquals(Map.of("id", unknown, "missing", true), lines.get(0));
+    Map<String, Map<String, Object>> statsById = new HashMap<>();
+    lines.subList(1, 3).forEach(line -> statsById.put((String) line.get("id"),
+        (Map<String, Object>) line.get("stats")));
+    assertEquals(Map.of("note", 2, "is", 1, "just", 1, "a", 1), statsById.get(first));
+    assertEquals(Map.of("just", 1, "a", 1, "test", 1), statsById.get(second));
+    assertEquals(Map.of("note", 2, "is", 1, "just", 2, "a", 2, "test", 1),
+        lines.get(3).get("total"));
+  }
+
+  @Test
+  void calculateStatsBatch_NoIds_ReturnsBadRequest() {
+    given()
+        .contentType(ContentType.JSON)
+        .body(Map.of("ids", List.of()))
+        .when()
+        .post("/notes/stats/batch")
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  void calculateTextStats_PlainTextBody_ReturnsWordStats() {
+    given()
+        .contentType(ContentType.TEXT)
+        .body("Note is just a note.")
+        .when()
+        .post("/notes/stats")
+        .then()
+        .statusCode(200)
+        .body("", equalTo(Map.of(
+            "note", 2,
+            "is", 1,
+            "just", 1,
+            "a", 1
+        )));
+  }
+
+  @Test
+  void calculateTextStats_WordLongerThanLimit_ReturnsContentTooLarge() {
+    given()
+        .contentType(ContentType.TEXT)
+        .body("short words and " + "a".repeat(1025))
+        .when()
+        .post("/notes/stats")
+        .then()
+        .statusCode(413)
+        .body("message", equalTo("Word Length Exceeded"));
+  }
+
   @Test
   void updateNote_ExistingNote_ReturnsUpdatedNote() {
     String noteId = noteProvider.createTestNote();
@@ -292,6 +914,72 @@ class NoteControllerTests extends IntegrationTest {
         .statusCode(400);
   }
 
+  @Test
+  void patchNote_MergePatchOfTags_ReturnsOnlyChangedFields() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .contentType(NoteController.MERGE_PATCH_JSON_VALUE)
+        .body(Map.of("tags", List.of("BUSINESS", "IMPORTANT")))
+        .when()
+        .patch("/notes/{id}", noteId)
+        .then()
+        .statusCode(200)
+        .body("id", equalTo(noteId))
+        .body("tags", equalTo(List.of("BUSINESS", "IMPORTANT")))
+        .body("lastModified", notNullValue())
+        .body("title", nullValue())
+        .body("text", nullValue());
+
+    given()
+        .when()
+        .get("/notes/{id}", noteId)
+        .then()
+        .statusCode(200)
+        .body("title", notNullValue())
+        .body("text", notNullValue())
+        .body("tags", equalTo(List.of("BUSINESS", "IMPORTANT")));
+  }
+
+  @Test
+  void patchNote_NullTitle_ReturnsBadRequest() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .contentType(NoteController.MERGE_PATCH_JSON_VALUE)
+        .body("{\"title\": null}")
+        .when()
+        .patch("/notes/{id}", noteId)
+        .then()
+        .statusCode(400);
+  }
+
+  @Test
+  void addTagAndRemoveTag_ExistingNote_ReturnsTags() {
+    String noteId = noteProvider.createTestNote();
+
+    given()
+        .when()
+        .put("/notes/{id}/tags/{tag}", noteId, "IMPORTANT")
+        .then()
+        .statusCode(200)
+        .body("tags", hasItems("IMPORTANT"))
+        .body("text", nullValue());
+
+    given()
+        .when()
+        .delete("/notes/{id}/tags/{tag}", noteId, "IMPORTANT")
+        .then()
+        .statusCode(200)
+        .body("tags", not(hasItems("IMPORTANT")));
+
+    given()
+        .when()
+        .put("/notes/{id}/tags/{tag}", "507f1f77bcf86cd799439011", "IMPORTANT")
+        .then()
+        .statusCode(404);
+  }
+
   @Test
   void deleteNote_ExistingNote_ReturnsNoContent() {
     String noteId = noteProvider.createTestNote();
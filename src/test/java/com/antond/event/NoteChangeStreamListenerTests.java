@@ -0,0 +1,173 @@
+package com.antond.event;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.antond.cache.FirstPageCache;
+import com.antond.entity.Note;
+import com.antond.repository.NoteProjection;
+import com.antond.repository.NoteRepository;
+import com.antond.repository.NoteRepositoryCustom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs against a single-node replica set and writes straight through the template, the way another
+ * instance would, to check that the local caches observe those writes.
+ */
+@Testcontainers
+@SpringBootTest(properties = "notebook.change-stream.enabled=true")
+class NoteChangeStreamListenerTests {
+
+  @Container
+  @ServiceConnection
+  static final MongoDBContainer CONTAINER = new MongoDBContainer("mongo:latest");
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private FirstPageCache firstPageCache;
+
+  @Autowired
+  private NoteChangeStreamListener listener;
+
+  @Autowired
+  private NoteRepository noteRepository;
+
+  @Autowired
+  private RecordedEvents recordedEvents;
+
+  @BeforeEach
+  void setUp() {
+    mongoTemplate.remove(new Query(), Note.class);
+    mongoTemplate.remove(new Query(), NoteRepositoryCustom.ARCHIVE_COLLECTION);
+    awaitTrue(listener::isWatching);
+  }
+
+  @Test
+  void externalUpdate_RefreshesFirstPageCache() {
+    Note note = mongoTemplate.insert(Note.builder().title("Before").tags(List.of()).build());
+    awaitTrue(() -> titles().equals(List.of("Before")));
+
+    mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(note.getId())),
+        Update.update("title", "After"), Note.class);
+
+    awaitTrue(() -> titles().equals(List.of("After")));
+  }
+
+  @Test
+  void externalDelete_RemovesNoteFromFirstPageCache() {
+    Note note = mongoTemplate.insert(Note.builder().title("Deleted").tags(List.of()).build());
+    awaitTrue(() -> titles().equals(List.of("Deleted")));
+
+    mongoTemplate.remove(Query.query(Criteria.where("id").is(note.getId())), Note.class);
+
+    awaitTrue(() -> titles().isEmpty());
+  }
+
+  @Test
+  void archivedNote_IsReportedAsArchivedRatherThanDeleted() {
+    Note note = mongoTemplate.insert(Note.builder().title("Old").tags(List.of())
+        .createdDate(LocalDateTime.now().minusYears(2)).build());
+    awaitTrue(() -> recordedEvents.contains(NoteChangedEvent.Type.CREATED, note.getId()));
+
+    noteRepository.archiveNotesCreatedBefore(LocalDateTime.now().minusYears(1), 10);
+
+    awaitTrue(() -> recordedEvents.contains(NoteChangedEvent.Type.ARCHIVED, note.getId()));
+    assertFalse(recordedEvents.contains(NoteChangedEvent.Type.DELETED, note.getId()));
+  }
+
+  @Test
+  void failingListener_ReportsLostChangesAndKeepsWatching() {
+    Note poison = mongoTemplate.insert(Note.builder().title(RecordedEvents.POISON)
+        .tags(List.of()).build());
+    awaitTrue(() -> recordedEvents.lostChanges() > 0);
+
+    Note next = mongoTemplate.insert(Note.builder().title("Next").tags(List.of()).build());
+
+    awaitTrue(() -> recordedEvents.contains(NoteChangedEvent.Type.CREATED, next.getId()));
+    assertFalse(recordedEvents.contains(NoteChangedEvent.Type.CREATED, poison.getId()));
+    assertTrue(listener.isWatching());
+  }
+
+  private List<String> titles() {
+    return firstPageCache.getFirstPage(List.of(), 10, NoteProjection.SUMMARY).stream()
+        .map(Note::getTitle)
+        .toList();
+  }
+
+  @TestConfiguration
+  static class RecordedEventsConfig {
+
+    @Bean
+    RecordedEvents recordedEvents() {
+      return new RecordedEvents();
+    }
+  }
+
+  static class RecordedEvents {
+
+    static final String POISON = "Poison";
+
+    private final List<NoteChangedEvent> events = new CopyOnWriteArrayList<>();
+    private final AtomicInteger lostChanges = new AtomicInteger();
+
+    @EventListener
+    void onNoteChanged(NoteChangedEvent event) {
+      if (event.origin() != NoteChangedEvent.Origin.CHANGE_STREAM) {
+        return;
+      }
+      if (event.note() != null && POISON.equals(event.note().getTitle())) {
+        throw new IllegalStateException("Listener failed");
+      }
+      events.add(event);
+    }
+
+    @EventListener
+    void onNoteChangesLost(NoteChangesLostEvent event) {
+      lostChanges.incrementAndGet();
+    }
+
+    int lostChanges() {
+      return lostChanges.get();
+    }
+
+    boolean contains(NoteChangedEvent.Type type, String noteId) {
+      return events.stream()
+          .anyMatch(event -> event.type() == type && event.noteId().equals(noteId));
+    }
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "Condition not met within 10 seconds");
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.antond.jfr;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.antond.config.IntegrationTest;
+import com.antond.dto.request.CreateNoteRequest;
+import io.restassured.http.ContentType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class FlightRecorderEventsTests extends IntegrationTest {
+
+  private static final String NOTE_OPERATION = "com.antond.NoteOperation";
+  private static final String WORD_STATS = "com.antond.WordStats";
+  private static final String TEXT = "note is just a note";
+
+  @Test
+  void noteRequests_RecordingEnabled_EmitEventsWithNoteFields() throws IOException {
+    String noteId;
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(NOTE_OPERATION).withThreshold(Duration.ZERO);
+      recording.enable(WORD_STATS).withThreshold(Duration.ZERO);
+      recording.start();
+
+      noteId = createNote();
+      given().when().get("/notes/{id}", noteId).then().statusCode(200);
+      given().when().get("/notes/{id}/stats", noteId).then().statusCode(200);
+
+      recording.stop();
+      events = read(recording);
+    }
+
+    RecordedEvent create = single(ofKind(events, NOTE_OPERATION, "CREATE"));
+    assertEquals(noteId, create.getString("noteId"));
+    assertEquals(TEXT.length(), create.getLong("textLength"));
+
+    // The statistics endpoint reads the note as well.
+    List<RecordedEvent> reads = ofKind(events, NOTE_OPERATION, "READ");
+    assertEquals(2, reads.size());
+    for (RecordedEvent read : reads) {
+      assertEquals(noteId, read.getString("noteId"));
+      assertEquals(TEXT.length(), read.getLong("textLength"));
+    }
+
+    RecordedEvent stats = single(ofKind(events, WORD_STATS, "COMPUTED"));
+    assertEquals(noteId, stats.getString("noteId"));
+    assertEquals(TEXT.length(), stats.getLong("textLength"));
+    assertEquals(4, stats.getLong("distinctWords"));
+  }
+
+  private String createNote() {
+    CreateNoteRequest request = CreateNoteRequest.builder()
+        .title("Recorded Note")
+        .text(TEXT)
+        .tags(List.of())
+        .build();
+
+    return given()
+        .contentType(ContentType.JSON)
+        .body(request)
+        .when()
+        .post("/notes")
+        .then()
+        .statusCode(201)
+        .extract()
+        .path("id");
+  }
+
+  private static List<RecordedEvent> read(Recording recording) throws IOException {
+    Path file = Files.createTempFile("notebook", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static List<RecordedEvent> ofKind(List<RecordedEvent> events, String type,
+      String kind) {
+    return events.stream()
+        .filter(event -> event.getEventType().getName().equals(type))
+        .filter(event -> kind.equals(event.hasField("operation")
+            ? event.getString("operation")
+            : event.getString("mode")))
+        .toList();
+  }
+
+  private static RecordedEvent single(List<RecordedEvent> events) {
+    assertEquals(1, events.size());
+    return events.get(0);
+  }
+}
@@ -0,0 +1,87 @@
+package com.antond.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.antond.config.NotebookProperties;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTests {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+  private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+      new NotebookProperties.ConcurrencyLimit(8, 1, 16, 100, 2.0, 0.5));
+
+  @Test
+  void tryAcquire_LimitReached_RejectsRequest() {
+    AdaptiveConcurrencyLimiter small = new AdaptiveConcurrencyLimiter(
+        new NotebookProperties.ConcurrencyLimit(2, 1, 4, 100, 2.0, 0.5));
+
+    assertTrue(small.tryAcquire());
+    assertTrue(small.tryAcquire());
+    assertFalse(small.tryAcquire());
+    assertEquals(2, small.getInFlight());
+  }
+
+  @Test
+  void release_RequestsUnderLoad_IncreaseLimitUpToMax() {
+    for (int i = 0; i < 200; i++) {
+      for (int j = 0; j < 8; j++) {
+        limiter.tryAcquire();
+      }
+      for (int j = 0; j < 8; j++) {
+        limiter.release(FAST, 0);
+      }
+    }
+
+    assertEquals(16, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void release_SlowWindow_DecreasesLimitOncePerWindow() {
+    complete(FAST, 0);
+    complete(FAST, 100);
+
+    for (int i = 0; i < 5; i++) {
+      complete(SLOW, 110 + i);
+    }
+    complete(SLOW, 210);
+    assertEquals(4, limiter.getLimit());
+
+    for (int i = 0; i < 5; i++) {
+      complete(SLOW, 220 + i);
+    }
+    complete(SLOW, 320);
+    assertEquals(2, limiter.getLimit());
+  }
+
+  @Test
+  void release_SlowerWindowWithinTolerance_KeepsLimit() {
+    complete(FAST, 0);
+    complete(FAST, 100);
+
+    complete(TimeUnit.MILLISECONDS.toNanos(15), 110);
+    complete(TimeUnit.MILLISECONDS.toNanos(15), 210);
+
+    assertEquals(8, limiter.getLimit());
+  }
+
+  @Test
+  void release_UniformlySlowRequests_KeepLimit() {
+    for (int i = 0; i < 20; i++) {
+      complete(SLOW, i * 100L);
+    }
+
+    assertEquals(8, limiter.getLimit());
+  }
+
+  private void complete(long latencyNanos, long nowMillis) {
+    limiter.tryAcquire();
+    limiter.release(latencyNanos, TimeUnit.MILLISECONDS.toNanos(nowMillis));
+  }
+}
@@ -0,0 +1,80 @@
+package com.antond.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.antond.constants.NoteFields;
+import com.antond.constants.Tag;
+import com.antond.entity.Note;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+class NoteConvertersTests {
+
+  private final NoteReadingConverter readingConverter = new NoteReadingConverter();
+  private final NoteWritingConverter writingConverter = new NoteWritingConverter();
+
+  @Test
+  void convert_FullNote_MatchesReflectiveMapping() {
+    MappingMongoConverter reflective = reflectiveConverter();
+    Note note = Note.builder()
+        .id(new ObjectId().toHexString())
+        .title("Title")
+        .text("Some text")
+        .createdDate(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+        .tags(List.of(Tag.BUSINESS, Tag.IMPORTANT))
+        .lastModified(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+        .build();
+
+    Document expected = new Document();
+    reflective.write(note, expected);
+    expected.remove("_class");
+    Document written = writingConverter.convert(note);
+
+    assertEquals(expected, written);
+    assertEquals(reflective.read(Note.class, written), readingConverter.convert(written));
+    assertEquals(note, readingConverter.convert(written));
+  }
+
+  @Test
+  void convert_NewNote_LeavesIdToTheDriver() {
+    Document written = writingConverter.convert(Note.builder().title("Title").build());
+
+    assertFalse(written.containsKey(NoteFields.ID));
+    assertFalse(written.containsKey(NoteFields.TEXT));
+  }
+
+  @Test
+  void convert_ListProjection_LeavesMissingFieldsNull() {
+    ObjectId id = new ObjectId();
+    Document document = new Document(NoteFields.ID, id).append(NoteFields.TITLE, "Title");
+
+    Note note = readingConverter.convert(document);
+
+    assertEquals(id.toHexString(), note.getId());
+    assertEquals("Title", note.getTitle());
+    assertNull(note.getText());
+    assertNull(note.getCreatedDate());
+    assertNull(note.getTags());
+    assertNull(note.getLastModified());
+  }
+
+  private static MappingMongoConverter reflectiveConverter() {
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.afterPropertiesSet();
+    MappingMongoConverter converter =
+        new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(new MongoCustomConversions(List.of()));
+    converter.afterPropertiesSet();
+    return converter;
+  }
+}
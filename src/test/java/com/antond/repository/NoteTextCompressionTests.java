@@ -0,0 +1,108 @@
+package com.antond.repository;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.antond.config.IntegrationTest;
+import com.antond.constants.NoteFields;
+import com.antond.dto.request.CreateNoteRequest;
+import com.antond.entity.Note;
+import com.antond.utils.TextCompressor;
+import io.restassured.http.ContentType;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+    "notebook.storage.compression.enabled=true",
+    "notebook.storage.compression.min-size=1024"
+})
+class NoteTextCompressionTests extends IntegrationTest {
+
+  private static final String TEXT = "Compressed note text with ü and 📝.\n".repeat(100);
+
+  @Test
+  void createNote_TextAboveMinSize_StoresCompressedText() {
+    String noteId = createNote(TEXT);
+
+    Document stored = rawDocument(noteId);
+
+    assertFalse(stored.containsKey(NoteFields.TEXT));
+    assertTrue(stored.get(NoteFields.COMPRESSED_TEXT) instanceof Binary);
+    assertEquals(TextCompressor.DEFLATE_CODEC, stored.getString(NoteFields.TEXT_CODEC));
+  }
+
+  @Test
+  void createNote_TextBelowMinSize_StoresPlainText() {
+    String noteId = createNote("Short note");
+
+    Document stored = rawDocument(noteId);
+
+    assertEquals("Short note", stored.getString(NoteFields.TEXT));
+    assertFalse(stored.containsKey(NoteFields.COMPRESSED_TEXT));
+  }
+
+  @Test
+  void getNoteById_CompressedText_ReturnsOriginalText() {
+    String noteId = createNote(TEXT);
+
+    given()
+        .when()
+        .get("/notes/{id}", noteId)
+        .then()
+        .statusCode(200)
+        .body("text", equalTo(TEXT));
+  }
+
+  @Test
+  void getNoteText_CompressedText_ReturnsOriginalTextAndSlices() {
+    String noteId = createNote(TEXT);
+    int total = TEXT.codePointCount(0, TEXT.length());
+
+    given()
+        .when()
+        .get("/notes/{id}/text", noteId)
+        .then()
+        .statusCode(200)
+        .header("Content-Range", equalTo("chars 0-" + (total - 1) + "/" + total))
+        .body(equalTo(TEXT));
+
+    given()
+        .when()
+        .get("/notes/{id}/text?offset=31&length=3", noteId)
+        .then()
+        .statusCode(206)
+        .header("Content-Range", equalTo("chars 31-33/" + total))
+        .body(equalTo(" 📝."));
+  }
+
+  private String createNote(String text) {
+    CreateNoteRequest request = CreateNoteRequest.builder()
+        .title("Compressed Note")
+        .text(text)
+        .tags(List.of())
+        .build();
+
+    return given()
+        .contentType(ContentType.JSON)
+        .body(request)
+        .when()
+        .post("/notes")
+        .then()
+        .statusCode(201)
+        .extract()
+        .path("id");
+  }
+
+  private Document rawDocument(String noteId) {
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Note.class))
+        .find(new Document("_id", new ObjectId(noteId)))
+        .first();
+  }
+}
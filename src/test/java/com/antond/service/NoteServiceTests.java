@@ -2,33 +2,47 @@ package com.antond.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.antond.cache.FirstPageCache;
+import com.antond.cache.NoteIdFilter;
 import com.antond.constants.Tag;
 import com.antond.dto.request.CreateNoteRequest;
+import com.antond.dto.request.NotePatchRequest;
 import com.antond.dto.request.UpdateNoteRequest;
 import com.antond.entity.Note;
+import com.antond.event.NoteChangedEvent;
 import com.antond.exception.NoteNotFoundException;
+import com.antond.repository.NoteFilter;
+import com.antond.repository.NoteProjection;
 import com.antond.repository.NoteRepository;
 import com.antond.utils.TextUtils;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 
 @ExtendWith(MockitoExtension.class)
 class NoteServiceTests {
@@ -42,6 +56,18 @@ class NoteServiceTests {
   @Mock
   private Pageable pageable;
 
+  @Mock
+  private FirstPageCache firstPageCache;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private NoteWordStatsService wordStatsService;
+
+  @Mock
+  private NoteIdFilter noteIdFilter;
+
   @InjectMocks
   private NoteService noteService;
 
@@ -54,6 +80,11 @@ class NoteServiceTests {
       .tags(List.of(Tag.PERSONAL))
       .build();
 
+  @BeforeEach
+  void setUp() {
+    lenient().when(noteIdFilter.mightExist(anyString())).thenReturn(true);
+  }
+
   @Test
   void createNote_ValidRequest_ReturnsSavedNote() {
     CreateNoteRequest request = new CreateNoteRequest(
@@ -71,6 +102,7 @@ class NoteServiceTests {
     assertEquals("Test Title", result.getTitle());
     assertEquals("Test content for the note", result.getText());
     verify(noteRepository, times(1)).save(any(Note.class));
+    verify(eventPublisher).publishEvent(NoteChangedEvent.created(sampleNote));
   }
 
   @Test
@@ -119,19 +151,68 @@ class NoteServiceTests {
     verify(noteRepository, times(1)).findById("non-existing-id");
   }
 
+  @Test
+  void getNoteById_IdRejectedByFilter_ThrowsWithoutQuerying() {
+    when(noteIdFilter.mightExist("unknown-id")).thenReturn(false);
+
+    assertThrows(NoteNotFoundException.class, () -> noteService.getNoteById("unknown-id"));
+
+    verify(noteRepository, never()).findById(anyString());
+    verify(noteRepository, never()).findArchivedById(anyString(), any(NoteProjection.class));
+  }
+
+  @Test
+  void deleteNote_IdRejectedByFilter_ThrowsWithoutQuerying() {
+    when(noteIdFilter.mightExist("unknown-id")).thenReturn(false);
+
+    assertThrows(NoteNotFoundException.class, () -> noteService.deleteNote("unknown-id"));
+
+    verify(noteRepository, never()).findById(anyString());
+    verify(noteRepository, never()).deleteArchivedById(anyString());
+  }
+
+  @Test
+  void getNoteById_ArchivedNote_FallsBackToArchive() {
+    when(noteRepository.findById(NOTE_ID)).thenReturn(Optional.empty());
+    when(noteRepository.findArchivedById(NOTE_ID, NoteProjection.FULL))
+        .thenReturn(Optional.of(sampleNote));
+
+    Note result = noteService.getNoteById(NOTE_ID);
+
+    assertEquals(sampleNote, result);
+  }
+
+  @Test
+  void getNoteById_WithProjection_ReadsOnlyProjectedFields() {
+    NoteProjection projection = NoteProjection.forNote(List.of("title", "tags"));
+    Note projectedNote = Note.builder()
+        .title(sampleNote.getTitle())
+        .tags(sampleNote.getTags())
+        .createdDate(null)
+        .build();
+    when(noteRepository.findProjectedById(NOTE_ID, projection))
+        .thenReturn(Optional.of(projectedNote));
+
+    Note result = noteService.getNoteById(NOTE_ID, projection);
+
+    assertEquals("Test Title", result.getTitle());
+    assertNull(result.getText());
+    verify(noteRepository, never()).findById(anyString());
+  }
+
   @Test
   void getNoteStatsById_ExistingNote_ReturnsWordStats() {
     when(noteRepository.findById(NOTE_ID)).thenReturn(Optional.of(sampleNote));
 
     Map<String, Long> expectedStats = Map.of("test", 2L, "content", 1L);
-    when(textUtils.calculateWordStats(sampleNote.getText())).thenReturn(expectedStats);
+    when(wordStatsService.getWordStats(sampleNote)).thenReturn(expectedStats);
 
     Map<String, Long> result = noteService.getNoteStatsById(NOTE_ID);
 
     assertNotNull(result);
     assertEquals(expectedStats, result);
     verify(noteRepository, times(1)).findById(NOTE_ID);
-    verify(textUtils, times(1)).calculateWordStats(sampleNote.getText());
+    verify(wordStatsService, times(1)).getWordStats(sampleNote);
   }
 
   @Test
@@ -143,20 +224,36 @@ class NoteServiceTests {
     });
 
     verify(noteRepository, times(1)).findById("non-existing-id");
-    verify(textUtils, never()).calculateWordStats(anyString());
+    verify(wordStatsService, never()).getWordStats(any(Note.class));
   }
 
   @Test
   void getAllNotes_WithPageable_ReturnsNotesList() {
     List<Note> expectedNotes = List.of(sampleNote);
-    when(noteRepository.findAllByOrderByCreatedDateDesc(pageable)).thenReturn(expectedNotes);
+    when(noteRepository.findNotes(any(NoteFilter.class), eq(pageable),
+        eq(NoteProjection.SUMMARY))).thenReturn(expectedNotes);
 
-    List<Note> result = noteService.getAllNotes(pageable);
+    List<Note> result = noteService.getAllNotes(pageable, NoteProjection.SUMMARY);
 
     assertNotNull(result);
     assertEquals(1, result.size());
     assertEquals(sampleNote, result.get(0));
-    verify(noteRepository, times(1)).findAllByOrderByCreatedDateDesc(pageable);
+    verify(noteRepository, times(1))
+        .findNotes(argThat(filter -> filter.getAllTags().isEmpty()), eq(pageable),
+            eq(NoteProjection.SUMMARY));
+  }
+
+  @Test
+  void getAllNotes_FirstPageCached_ServesFromCache() {
+    Pageable firstPage = PageRequest.of(0, 10);
+    when(firstPageCache.supports(any(NoteFilter.class), eq(firstPage))).thenReturn(true);
+    when(firstPageCache.getFirstPage(List.of(), 10, NoteProjection.SUMMARY))
+        .thenReturn(List.of(sampleNote));
+
+    List<Note> result = noteService.getAllNotes(firstPage, NoteProjection.SUMMARY);
+
+    assertEquals(List.of(sampleNote), result);
+    verify(noteRepository, never()).findNotes(any(), any(), any());
   }
 
   @Test
@@ -164,15 +261,16 @@ class NoteServiceTests {
     List<Tag> tags = List.of(Tag.PERSONAL);
     List<Note> expectedNotes = List.of(sampleNote);
 
-    when(noteRepository.findByTagsContainingAll(tags, pageable))
-        .thenReturn(expectedNotes);
+    when(noteRepository.findNotes(any(NoteFilter.class), eq(pageable),
+        eq(NoteProjection.SUMMARY))).thenReturn(expectedNotes);
 
-    List<Note> result = noteService.getNotesByTag(tags, pageable);
+    List<Note> result = noteService.getNotesByTag(tags, pageable, NoteProjection.SUMMARY);
 
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(noteRepository, times(1)).findByTagsContainingAll(tags, pageable);
-    verify(noteRepository, never()).findAllByOrderByCreatedDateDesc(any(Pageable.class));
+    verify(noteRepository, times(1))
+        .findNotes(argThat(filter -> filter.getAllTags().equals(tags)), eq(pageable),
+            eq(NoteProjection.SUMMARY));
   }
 
   @Test
@@ -180,14 +278,16 @@ class NoteServiceTests {
     List<Tag> emptyTags = List.of();
     List<Note> expectedNotes = List.of(sampleNote);
 
-    when(noteRepository.findAllByOrderByCreatedDateDesc(pageable)).thenReturn(expectedNotes);
+    when(noteRepository.findNotes(any(NoteFilter.class), eq(pageable),
+        eq(NoteProjection.SUMMARY))).thenReturn(expectedNotes);
 
-    List<Note> result = noteService.getNotesByTag(emptyTags, pageable);
+    List<Note> result = noteService.getNotesByTag(emptyTags, pageable, NoteProjection.SUMMARY);
 
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(noteRepository, times(1)).findAllByOrderByCreatedDateDesc(pageable);
-    verify(noteRepository, never()).findByTagsContainingAll(any(), any());
+    verify(noteRepository, times(1))
+        .findNotes(argThat(filter -> filter.getAllTags().isEmpty()), eq(pageable),
+            eq(NoteProjection.SUMMARY));
   }
 
   @Test
@@ -259,6 +359,47 @@ class NoteServiceTests {
     verify(noteRepository, never()).save(any(Note.class));
   }
 
+  @Test
+  void patchNote_TitleOnly_UpdatesInPlaceAndReturnsChangedFields() {
+    NotePatchRequest patch = new NotePatchRequest();
+    patch.setTitle("Test Title");
+    when(noteRepository.updateFields(eq(NOTE_ID), any(UpdateDefinition.class)))
+        .thenReturn(Optional.of(sampleNote));
+
+    Note result = noteService.patchNote(NOTE_ID, patch);
+
+    assertEquals(NOTE_ID, result.getId());
+    assertEquals("Test Title", result.getTitle());
+    assertNull(result.getText());
+    assertNull(result.getTags());
+    assertNull(result.getCreatedDate());
+    verify(noteRepository, never()).findById(anyString());
+    verify(noteRepository, never()).save(any(Note.class));
+    verify(eventPublisher).publishEvent(NoteChangedEvent.updated(sampleNote));
+  }
+
+  @Test
+  void addTag_ArchivedNote_MovesNoteBackWithTag() {
+    Note archivedNote = Note.builder()
+        .id(NOTE_ID)
+        .title("Archived")
+        .text("Archived content")
+        .tags(List.of(Tag.PERSONAL))
+        .build();
+    when(noteRepository.updateFields(eq(NOTE_ID), any(UpdateDefinition.class)))
+        .thenReturn(Optional.empty());
+    when(noteRepository.findById(NOTE_ID)).thenReturn(Optional.empty());
+    when(noteRepository.findArchivedById(NOTE_ID, NoteProjection.FULL))
+        .thenReturn(Optional.of(archivedNote));
+    when(noteRepository.save(any(Note.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    Note result = noteService.addTag(NOTE_ID, Tag.BUSINESS);
+
+    assertEquals(List.of(Tag.PERSONAL, Tag.BUSINESS), result.getTags());
+    assertNull(result.getTitle());
+    verify(noteRepository).deleteArchivedById(NOTE_ID);
+  }
+
   @Test
   void deleteNote_ExistingNote_DeletesSuccessfully() {
     when(noteRepository.findById(NOTE_ID)).thenReturn(Optional.of(sampleNote));
@@ -268,6 +409,8 @@ class NoteServiceTests {
 
     verify(noteRepository, times(1)).findById(NOTE_ID);
     verify(noteRepository, times(1)).deleteById(NOTE_ID);
+    verify(noteRepository).saveTombstone(eq(NOTE_ID), any(LocalDateTime.class));
+    verify(eventPublisher).publishEvent(NoteChangedEvent.deleted(NOTE_ID));
   }
 
   @Test
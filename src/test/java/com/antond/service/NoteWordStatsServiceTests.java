@@ -0,0 +1,158 @@
+package com.antond.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.antond.entity.Note;
+import com.antond.entity.NoteWordStats;
+import com.antond.repository.NoteWordStatsRepository;
+import com.antond.utils.TextChunk;
+import com.antond.utils.TextChunker;
+import com.antond.utils.TextUtils;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NoteWordStatsServiceTests {
+
+  private static final String NOTE_ID = "507f1f77bcf86cd799439011";
+  private static final TextChunker CHUNKER = new TextChunker();
+
+  @Mock
+  private NoteWordStatsRepository statsRepository;
+
+  @Spy
+  private TextChunker textChunker;
+
+  @Spy
+  private TextUtils textUtils;
+
+  @InjectMocks
+  private NoteWordStatsService wordStatsService;
+
+  @Test
+  void getWordStats_NoStoredStats_ComputesAndStoresTotals() {
+    String text = largeText("alpha");
+    when(statsRepository.findById(NOTE_ID)).thenReturn(Optional.empty());
+
+    Map<String, Long> result = wordStatsService.getWordStats(note(text));
+
+    assertEquals(textUtils.calculateWordStats(text), result);
+    verify(statsRepository).save(any(NoteWordStats.class));
+  }
+
+  @Test
+  void getWordStats_StoredStatsMatchText_ReturnsStoredTotals() {
+    String text = "note is just a note";
+    String digest = textChunker.digest(textChunker.split(text));
+    when(statsRepository.findById(NOTE_ID)).thenReturn(Optional.of(NoteWordStats.builder()
+        .id(NOTE_ID).digest(digest).totals(Map.of("note", 2L, "gone", 0L)).build()));
+
+    Map<String, Long> result = wordStatsService.getWordStats(note(text));
+
+    assertEquals(Map.of("note", 2L), result);
+    verify(statsRepository, never()).save(any(NoteWordStats.class));
+  }
+
+  @Test
+  void onTextChanged_SingleLineEdit_TokenizesOnlyChangedChunks() {
+    String oldText = largeText("alpha");
+    String newText = oldText.replace("line 1000 alpha", "line 1000 gamma");
+    NoteWordStats stored = layout(oldText);
+    assertTrue(stored.getChunks().size() > 10);
+    when(statsRepository.findLayoutById(NOTE_ID)).thenReturn(Optional.of(stored));
+
+    wordStatsService.onTextChanged(NOTE_ID, oldText, newText);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, Long>> delta = ArgumentCaptor.forClass(Map.class);
+    verify(statsRepository).applyDelta(eq(NOTE_ID), eq(stored.getDigest()),
+        eq(CHUNKER.digest(CHUNKER.split(newText))), anyList(), anyList(), delta.capture());
+    assertEquals(Map.of("alpha", -1L, "gamma", 1L), delta.getValue());
+    // The previous text is only cut at the stored lengths, never split again.
+    verify(textChunker, never()).split(oldText);
+    // The edited chunk before and after, plus a neighbour if the edit moved a chunk boundary.
+    verify(textUtils, atMost(4)).calculateWordStats(anyString());
+
+    Map<String, Long> expected = new HashMap<>(textUtils.calculateWordStats(oldText));
+    delta.getValue().forEach((word, change) -> expected.merge(word, change, Long::sum));
+    expected.values().removeIf(count -> count == 0);
+    assertEquals(textUtils.calculateWordStats(newText), expected);
+  }
+
+  @Test
+  void onTextChanged_StoredLayoutOfAnotherText_DropsStats() {
+    String oldText = largeText("alpha");
+    when(statsRepository.findLayoutById(NOTE_ID))
+        .thenReturn(Optional.of(layout(largeText("delta"))));
+
+    wordStatsService.onTextChanged(NOTE_ID, oldText, oldText.replace("alpha", "gamma"));
+
+    verify(statsRepository).deleteById(NOTE_ID);
+    verify(statsRepository, never()).applyDelta(anyString(), anyString(), anyString(), anyList(),
+        anyList(), anyMap());
+  }
+
+  @Test
+  void onTextChanged_StoredStatsWithoutLengths_DropsStats() {
+    String oldText = largeText("alpha");
+    NoteWordStats stored = layout(oldText);
+    stored.setChunkLengths(null);
+    when(statsRepository.findLayoutById(NOTE_ID)).thenReturn(Optional.of(stored));
+
+    wordStatsService.onTextChanged(NOTE_ID, oldText, oldText.replace("alpha", "gamma"));
+
+    verify(statsRepository).deleteById(NOTE_ID);
+  }
+
+  @Test
+  void onTextChanged_NoStoredStats_DoesNothing() {
+    when(statsRepository.findLayoutById(NOTE_ID)).thenReturn(Optional.empty());
+
+    wordStatsService.onTextChanged(NOTE_ID, "old text", "new text");
+
+    verify(statsRepository, never()).applyDelta(anyString(), anyString(), anyString(), anyList(),
+        anyList(), anyMap());
+  }
+
+  private static NoteWordStats layout(String text) {
+    List<TextChunk> chunks = CHUNKER.split(text);
+    return NoteWordStats.builder()
+        .id(NOTE_ID)
+        .digest(CHUNKER.digest(chunks))
+        .chunks(chunks.stream().map(TextChunk::hash).toList())
+        .chunkLengths(chunks.stream().map(chunk -> chunk.end() - chunk.start()).toList())
+        .build();
+  }
+
+  private static Note note(String text) {
+    return Note.builder().id(NOTE_ID).text(text).build();
+  }
+
+  private static String largeText(String word) {
+    StringBuilder text = new StringBuilder();
+    for (int line = 0; line < 5000; line++) {
+      text.append("line ").append(line).append(' ').append(line == 1000 ? word : "beta")
+          .append(" some filler words to make the line longer\n");
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,51 @@
+package com.antond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTests {
+
+  @Test
+  void mightContain_AddedKeys_AlwaysTrue() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    List<String> keys = IntStream.range(0, 10_000)
+        .mapToObj(i -> new ObjectId().toHexString())
+        .toList();
+    keys.forEach(filter::put);
+
+    assertTrue(keys.stream().allMatch(filter::mightContain));
+  }
+
+  @Test
+  void mightContain_UnknownKeys_MostlyFalse() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> filter.put(new ObjectId().toHexString()));
+
+    long falsePositives = IntStream.range(0, 100_000)
+        .filter(i -> filter.mightContain("unknown-" + i))
+        .count();
+
+    assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+  }
+
+  @Test
+  void isSaturated_MoreKeysThanExpected_ReturnsTrue() {
+    BloomFilter filter = new BloomFilter(10, 0.01);
+    IntStream.range(0, 10).forEach(i -> filter.put("key-" + i));
+    assertFalse(filter.isSaturated());
+
+    filter.put("key-10");
+    assertTrue(filter.isSaturated());
+  }
+
+  @Test
+  void constructor_InvalidFalsePositiveRate_Throws() {
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.5));
+  }
+}
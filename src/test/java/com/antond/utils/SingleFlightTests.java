@@ -0,0 +1,80 @@
+package com.antond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+  @Test
+  void execute_ConcurrentCallsForSameKey_RunOperationOnce() throws Exception {
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      Future<String> first = executor.submit(() -> singleFlight.execute("id", () -> {
+        executions.incrementAndGet();
+        started.countDown();
+        await(release);
+        return "note";
+      }));
+      started.await(5, TimeUnit.SECONDS);
+
+      List<Future<String>> joined = new ArrayList<>();
+      for (int i = 0; i < 7; i++) {
+        joined.add(executor.submit(() -> singleFlight.execute("id", () -> {
+          executions.incrementAndGet();
+          return "other";
+        })));
+      }
+      Thread.sleep(100);
+      release.countDown();
+
+      assertEquals("note", first.get(5, TimeUnit.SECONDS));
+      for (Future<String> future : joined) {
+        assertEquals("note", future.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, executions.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void execute_AfterCompletion_RunsOperationAgain() {
+    AtomicInteger executions = new AtomicInteger();
+
+    singleFlight.execute("id", () -> "v" + executions.incrementAndGet());
+    String second = singleFlight.execute("id", () -> "v" + executions.incrementAndGet());
+
+    assertEquals("v2", second);
+  }
+
+  @Test
+  void execute_OperationFails_PropagatesException() {
+    assertThrows(IllegalStateException.class, () -> singleFlight.execute("id", () -> {
+      throw new IllegalStateException("failed");
+    }));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
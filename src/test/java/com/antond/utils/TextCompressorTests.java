@@ -0,0 +1,110 @@
+package com.antond.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.antond.dto.response.NoteTextSlice;
+import org.junit.jupiter.api.Test;
+
+class TextCompressorTests {
+
+  private static final String EMOJI = "📝";
+
+  private final TextCompressor textCompressor = new TextCompressor();
+
+  @Test
+  void compress_TextBelowMinSize_ReturnsNull() {
+    assertNull(textCompressor.compress("note ".repeat(10), 1024, 1));
+  }
+
+  @Test
+  void compress_MultiByteTextReachingMinSizeInBytes_ReturnsCompressedBytes() {
+    String text = "ü".repeat(600);
+
+    byte[] compressed = textCompressor.compress(text, 1024, 1);
+
+    assertNotNull(compressed);
+    assertEquals(text, textCompressor.decompress(compressed, TextCompressor.DEFLATE_CODEC));
+  }
+
+  @Test
+  void compress_TextReachingMinSize_ReturnsCompressedBytes() {
+    assertNull(textCompressor.compress("a".repeat(1023), 1024, 1));
+    assertNotNull(textCompressor.compress("a".repeat(1024), 1024, 1));
+  }
+
+  @Test
+  void decompress_CompressedText_RoundTrips() {
+    String text = ("Note with accents é, CJK 日本語 and an emoji " + EMOJI + ".\n").repeat(200);
+
+    byte[] compressed = textCompressor.compress(text, 1024, 6);
+
+    assertNotNull(compressed);
+    assertEquals(text, textCompressor.decompress(compressed, TextCompressor.DEFLATE_CODEC));
+  }
+
+  @Test
+  void decompress_UnknownCodec_ThrowsIllegalStateException() {
+    byte[] compressed = textCompressor.compress("note ".repeat(1000), 1024, 1);
+
+    assertThrows(IllegalStateException.class, () -> textCompressor.decompress(compressed, "zstd"));
+  }
+
+  @Test
+  void slice_AcrossSurrogatePairs_CountsCodePoints() {
+    String text = (EMOJI + "ab").repeat(500);
+    byte[] compressed = textCompressor.compress(text, 1024, 1);
+
+    NoteTextSlice slice = textCompressor.slice(compressed, TextCompressor.DEFLATE_CODEC, 2, 3);
+
+    assertEquals("b" + EMOJI + "a", slice.getText());
+    assertEquals(2, slice.getOffset());
+    assertEquals(1500, slice.getTotalLength());
+  }
+
+  @Test
+  void slice_EndingOnSurrogatePair_KeepsWholeCodePoint() {
+    String text = (EMOJI + "ab").repeat(500);
+    byte[] compressed = textCompressor.compress(text, 1024, 1);
+
+    NoteTextSlice slice = textCompressor.slice(compressed, TextCompressor.DEFLATE_CODEC, 1, 3);
+
+    assertEquals("ab" + EMOJI, slice.getText());
+  }
+
+  @Test
+  void slice_PastEndOfText_ReturnsRemainder() {
+    String text = "note ".repeat(400) + EMOJI;
+    byte[] compressed = textCompressor.compress(text, 1024, 1);
+
+    NoteTextSlice slice = textCompressor.slice(compressed, TextCompressor.DEFLATE_CODEC, 1998, 10);
+
+    assertEquals("e " + EMOJI, slice.getText());
+    assertEquals(2001, slice.getTotalLength());
+  }
+
+  @Test
+  void slice_OffsetAtEndOfText_ReturnsEmptyText() {
+    String text = "note ".repeat(400);
+    byte[] compressed = textCompressor.compress(text, 1024, 1);
+
+    NoteTextSlice slice = textCompressor.slice(compressed, TextCompressor.DEFLATE_CODEC, 2000, 10);
+
+    assertEquals("", slice.getText());
+    assertEquals(2000, slice.getTotalLength());
+  }
+
+  @Test
+  void slice_WholeText_MatchesDecompressedText() {
+    String text = ("Zeile " + EMOJI + " ü\n").repeat(300);
+    byte[] compressed = textCompressor.compress(text, 1024, 1);
+
+    NoteTextSlice slice = textCompressor.slice(compressed, TextCompressor.DEFLATE_CODEC, 0,
+        Integer.MAX_VALUE);
+
+    assertEquals(text, slice.getText());
+    assertEquals(text.codePointCount(0, text.length()), slice.getTotalLength());
+  }
+}